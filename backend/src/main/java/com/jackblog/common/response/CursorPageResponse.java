@@ -0,0 +1,25 @@
+package com.jackblog.common.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    // 다음 페이지를 요청할 때 after 로 넘기는 값 (마지막 페이지면 null)
+    private String nextCursor;
+
+    // includeTotal=true 로 요청한 경우에만 채워진다
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+}
@@ -0,0 +1,89 @@
+package com.jackblog.common.sketch;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 락 없이 여러 스레드가 동시에 넣고 확인할 수 있는 Bloom filter.
+// 없다고 답하면 확실히 없고, 있다고 답하면 설정한 오탐률 안에서 있다
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(AtomicLongArray bits, int hashCount) {
+        this.bits = bits;
+        this.bitCount = (long) bits.length() * Long.SIZE;
+        this.hashCount = hashCount;
+    }
+
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (optimalBits + Long.SIZE - 1) / Long.SIZE);
+        int hashCount = Math.max(1, (int) Math.round((double) words * Long.SIZE / expectedInsertions * Math.log(2)));
+        return new BloomFilter(new AtomicLongArray(words), hashCount);
+    }
+
+    public boolean mightContain(String value) {
+        long hash1 = Hashing.hash64(value);
+        long hash2 = Hashing.mix64(hash1 ^ 0x9e3779b97f4a7c15L);
+        for (int index = 0; index < hashCount; index++) {
+            long bit = Math.floorMod(hash1 + index * hash2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 새로 켠 비트가 하나라도 있으면 true (처음 넣는 값일 가능성이 높다)
+    public boolean put(String value) {
+        long hash1 = Hashing.hash64(value);
+        long hash2 = Hashing.mix64(hash1 ^ 0x9e3779b97f4a7c15L);
+        boolean changed = false;
+        for (int index = 0; index < hashCount; index++) {
+            long bit = Math.floorMod(hash1 + index * hash2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+            changed |= (current & mask) == 0;
+        }
+        return changed;
+    }
+
+    // 같은 크기로 만든 필터끼리만 합칠 수 있다
+    public void merge(BloomFilter other) {
+        if (other.bits.length() != bits.length() || other.hashCount != hashCount) {
+            throw new IllegalArgumentException("Bloom filters must have the same size to merge");
+        }
+        for (int index = 0; index < bits.length(); index++) {
+            long otherWord = other.bits.get(index);
+            bits.getAndAccumulate(index, otherWord, (current, value) -> current | value);
+        }
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * 2 + bits.length() * Long.BYTES);
+        buffer.putInt(hashCount).putInt(bits.length());
+        for (int index = 0; index < bits.length(); index++) {
+            buffer.putLong(bits.get(index));
+        }
+        return buffer.array();
+    }
+
+    public static BloomFilter fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int hashCount = buffer.getInt();
+        AtomicLongArray bits = new AtomicLongArray(buffer.getInt());
+        for (int index = 0; index < bits.length(); index++) {
+            bits.set(index, buffer.getLong());
+        }
+        return new BloomFilter(bits, hashCount);
+    }
+}
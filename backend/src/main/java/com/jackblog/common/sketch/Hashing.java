@@ -0,0 +1,30 @@
+package com.jackblog.common.sketch;
+
+// 스케치용 64비트 해시. FNV-1a 로 문자열을 접고 MurmurHash3 finalizer 로 비트를 고르게 섞는다
+public final class Hashing {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Hashing() {
+    }
+
+    public static long hash64(CharSequence value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int index = 0; index < value.length(); index++) {
+            char character = value.charAt(index);
+            hash = (hash ^ (character & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (character >>> 8)) * FNV_PRIME;
+        }
+        return mix64(hash);
+    }
+
+    public static long mix64(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,94 @@
+package com.jackblog.common.sketch;
+
+import java.nio.ByteBuffer;
+
+// 고정 크기(2^precision 바이트)로 서로 다른 값의 개수를 추정한다. precision 12 면 표준 오차 약 1.6%
+public final class HyperLogLog {
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("precision must be between 4 and 16");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    private HyperLogLog(int precision, byte[] registers) {
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    // 레지스터 값이 바뀌었으면 true
+    public synchronized boolean add(String value) {
+        long hash = Hashing.hash64(value);
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized long estimate() {
+        int registerCount = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        double estimate = alpha(registerCount) * registerCount * registerCount / sum;
+        // 값이 적을 때는 linear counting 이 더 정확하다
+        if (estimate <= 2.5 * registerCount && zeros > 0) {
+            estimate = registerCount * Math.log((double) registerCount / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("HyperLogLog sketches must have the same precision to merge");
+        }
+        byte[] otherRegisters;
+        synchronized (other) {
+            otherRegisters = other.registers.clone();
+        }
+        synchronized (this) {
+            for (int index = 0; index < registers.length; index++) {
+                registers[index] = (byte) Math.max(registers[index], otherRegisters[index]);
+            }
+        }
+    }
+
+    public synchronized byte[] toBytes() {
+        return ByteBuffer.allocate(1 + registers.length)
+            .put((byte) precision)
+            .put(registers)
+            .array();
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int precision = buffer.get();
+        byte[] registers = new byte[1 << precision];
+        buffer.get(registers);
+        return new HyperLogLog(precision, registers);
+    }
+
+    private static double alpha(int registerCount) {
+        return switch (registerCount) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / registerCount);
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package com.jackblog.common.sketch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Space-Saving top-K. 최대 capacity 개의 값만 세고, 자리가 없으면 가장 작은 값을 밀어내며 그 count 를 물려받는다.
+// count 는 실제보다 크거나 같고, 넘친 정도는 error 이하다
+public final class SpaceSaving {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public synchronized void offer(String item, long increment) {
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            counter.count += increment;
+            return;
+        }
+
+        if (counters.size() < capacity) {
+            counters.put(item, new Counter(item, increment, 0));
+            return;
+        }
+
+        // capacity 가 작아서 (수백 개) 최소값은 선형 탐색으로 찾는다
+        Counter minimum = null;
+        for (Counter candidate : counters.values()) {
+            if (minimum == null || candidate.count < minimum.count) {
+                minimum = candidate;
+            }
+        }
+        counters.remove(minimum.item);
+        counters.put(item, new Counter(item, minimum.count + increment, minimum.count));
+    }
+
+    public synchronized void merge(SpaceSaving other) {
+        for (Entry entry : other.top(other.capacity)) {
+            offer(entry.item(), entry.count());
+        }
+    }
+
+    public synchronized List<Entry> top(int limit) {
+        List<Entry> entries = new ArrayList<>(counters.size());
+        for (Counter counter : counters.values()) {
+            entries.add(new Entry(counter.item, counter.count, counter.error));
+        }
+        entries.sort(Comparator.comparingLong(Entry::count).reversed().thenComparing(Entry::item));
+        return entries.size() > limit ? List.copyOf(entries.subList(0, limit)) : entries;
+    }
+
+    public record Entry(String item, long count, long error) {
+    }
+
+    private static final class Counter {
+        private final String item;
+        private long count;
+        private final long error;
+
+        private Counter(String item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.jackblog.config;
 
 import com.jackblog.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -31,8 +32,11 @@ public class SecurityConfig {
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // SSE 응답의 ASYNC 재디스패치는 처음 요청에서 이미 인증을 통과했다
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                 // Public endpoints
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/posts/*/stats/**").authenticated()
                 .requestMatchers(HttpMethod.GET, "/api/posts/**").permitAll()
                 .requestMatchers(HttpMethod.POST, "/api/posts/*/comments").permitAll()
                 .requestMatchers(HttpMethod.POST, "/api/posts/*/reactions").permitAll()
@@ -42,6 +46,7 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, "/api/comments/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/reactions/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/category-tree").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/category-tree/resolved").permitAll()
                 .requestMatchers("/api/posts/*/comments").permitAll()
                 .requestMatchers("/api/posts/*/reactions").permitAll()
                 .requestMatchers("/api/comments/*/reply").permitAll()
@@ -51,10 +56,18 @@ public class SecurityConfig {
                 .requestMatchers("/api/admin/verify").authenticated()
                 // Admin endpoints require authentication
                 .requestMatchers(HttpMethod.POST, "/api/posts").authenticated()
+                .requestMatchers(HttpMethod.POST, "/api/posts/counters/reconcile").authenticated()
+                .requestMatchers(HttpMethod.POST, "/api/posts/search/rebuild").authenticated()
+                .requestMatchers(HttpMethod.POST, "/api/posts/derived/backfill").authenticated()
                 .requestMatchers(HttpMethod.PUT, "/api/posts/**").authenticated()
                 .requestMatchers(HttpMethod.DELETE, "/api/posts/**").authenticated()
                 .requestMatchers(HttpMethod.PUT, "/api/category-tree").authenticated()
                 .requestMatchers(HttpMethod.GET, "/api/visitors/stats").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/visitors/archive").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/visitors/top").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/visitors/trending").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/live/**").authenticated()
+                .requestMatchers("/actuator/metrics", "/actuator/metrics/**").authenticated()
                 .anyRequest().permitAll())
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
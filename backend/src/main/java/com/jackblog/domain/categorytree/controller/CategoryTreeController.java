@@ -2,6 +2,7 @@ package com.jackblog.domain.categorytree.controller;
 
 import com.jackblog.common.response.ApiResponse;
 import com.jackblog.domain.categorytree.dto.CategoryTreePayload;
+import com.jackblog.domain.categorytree.dto.ResolvedCategoryTreeResponse;
 import com.jackblog.domain.categorytree.service.CategoryTreeService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +24,11 @@ public class CategoryTreeController {
         return ResponseEntity.ok(ApiResponse.success(categoryTreeService.getCategoryTree()));
     }
 
+    @GetMapping("/resolved")
+    public ResponseEntity<ApiResponse<ResolvedCategoryTreeResponse>> getResolvedCategoryTree() {
+        return ResponseEntity.ok(ApiResponse.success(categoryTreeService.getResolvedCategoryTree()));
+    }
+
     @PutMapping
     public ResponseEntity<ApiResponse<CategoryTreePayload>> updateCategoryTree(
         @RequestBody CategoryTreePayload payload
@@ -0,0 +1,25 @@
+package com.jackblog.domain.categorytree.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResolvedCategoryNodeDto {
+    private String id;
+    private String name;
+    private String parentId;
+    private Integer order;
+
+    // 하위 노드까지 포함해 이 노드에 속한 공개 글 수 (같은 글은 한 번만 센다)
+    private int postCount;
+
+    // 이 노드에 직접 속한 공개 글 slug
+    private List<String> postSlugs;
+}
@@ -0,0 +1,17 @@
+package com.jackblog.domain.categorytree.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResolvedCategoryTreeResponse {
+    @Builder.Default
+    private List<ResolvedCategoryNodeDto> nodes = List.of();
+}
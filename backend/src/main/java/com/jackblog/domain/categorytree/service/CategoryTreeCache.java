@@ -0,0 +1,168 @@
+package com.jackblog.domain.categorytree.service;
+
+import com.jackblog.domain.categorytree.dto.CategoryNodeDto;
+import com.jackblog.domain.categorytree.dto.CategoryTreePayload;
+import com.jackblog.domain.categorytree.dto.ResolvedCategoryNodeDto;
+import com.jackblog.domain.categorytree.dto.ResolvedCategoryTreeResponse;
+import com.jackblog.domain.post.service.PostCategoryRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// 역직렬화한 트리와, 트리에 글 소속을 풀어 넣은 결과를 메모리에 둔다.
+// 트리는 저장할 때 교체하고, 글 소속은 PostCategoryRegistry 스냅샷이 바뀌었을 때만 다시 계산한다
+@Component
+@RequiredArgsConstructor
+public class CategoryTreeCache {
+
+    private static final String GUESTBOOK_SLUG = "guestbook";
+
+    private final PostCategoryRegistry postCategoryRegistry;
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile CategoryTreePayload payload;
+    private volatile Resolved resolved;
+
+    public CategoryTreePayload get(Supplier<CategoryTreePayload> loader) {
+        CategoryTreePayload cached = payload;
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadedAt = generation.get();
+        CategoryTreePayload loaded = loader.get();
+        synchronized (this) {
+            // 읽는 동안 새 트리가 저장됐다면 방금 읽은 값으로 덮어쓰지 않는다
+            if (generation.get() == loadedAt) {
+                payload = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    public ResolvedCategoryTreeResponse getResolved(Supplier<CategoryTreePayload> loader) {
+        CategoryTreePayload tree = get(loader);
+        Map<String, Set<String>> postCategories = postCategoryRegistry.getPostCategoriesBySlug();
+
+        Resolved cached = resolved;
+        if (cached != null && cached.tree == tree && cached.postCategories == postCategories) {
+            return cached.response;
+        }
+
+        ResolvedCategoryTreeResponse response = resolve(tree, postCategories);
+        resolved = new Resolved(tree, postCategories, response);
+        return response;
+    }
+
+    // 저장 트랜잭션이 커밋된 뒤에만 새 트리로 바꾼다
+    public void replace(CategoryTreePayload saved) {
+        afterCommit(() -> {
+            synchronized (this) {
+                generation.incrementAndGet();
+                payload = saved;
+            }
+        });
+    }
+
+    // 프론트엔드와 같은 규칙: 카테고리 이름이 같은 첫 노드에 속하고, postCategoryOverrides 로 지정한 노드에도 속한다
+    private static ResolvedCategoryTreeResponse resolve(CategoryTreePayload tree, Map<String, Set<String>> postCategories) {
+        List<CategoryNodeDto> nodes = tree.getNodes() == null ? List.of() : tree.getNodes();
+        Map<String, String> overrides = tree.getPostCategoryOverrides() == null ? Map.of() : tree.getPostCategoryOverrides();
+
+        Map<String, String> idByName = new HashMap<>();
+        Map<String, List<String>> childrenById = new HashMap<>();
+        Map<String, Set<String>> directSlugs = new HashMap<>();
+        for (CategoryNodeDto node : nodes) {
+            idByName.putIfAbsent(node.getName(), node.getId());
+            directSlugs.put(node.getId(), new LinkedHashSet<>());
+            if (node.getParentId() != null) {
+                childrenById.computeIfAbsent(node.getParentId(), id -> new ArrayList<>()).add(node.getId());
+            }
+        }
+
+        postCategories.forEach((slug, names) -> {
+            if (GUESTBOOK_SLUG.equals(slug)) {
+                return;
+            }
+
+            String overriddenId = overrides.get(slug);
+            if (overriddenId != null && directSlugs.containsKey(overriddenId)) {
+                directSlugs.get(overriddenId).add(slug);
+            }
+            for (String name : names) {
+                String id = idByName.get(name);
+                if (id != null) {
+                    directSlugs.get(id).add(slug);
+                }
+            }
+        });
+
+        List<ResolvedCategoryNodeDto> resolvedNodes = new ArrayList<>(nodes.size());
+        for (CategoryNodeDto node : nodes) {
+            Set<String> subtree = new HashSet<>();
+            collectSlugs(node.getId(), childrenById, directSlugs, subtree, new HashSet<>());
+            resolvedNodes.add(ResolvedCategoryNodeDto.builder()
+                .id(node.getId())
+                .name(node.getName())
+                .parentId(node.getParentId())
+                .order(node.getOrder())
+                .postCount(subtree.size())
+                .postSlugs(List.copyOf(directSlugs.get(node.getId())))
+                .build());
+        }
+
+        return ResolvedCategoryTreeResponse.builder()
+            .nodes(List.copyOf(resolvedNodes))
+            .build();
+    }
+
+    private static void collectSlugs(
+        String id,
+        Map<String, List<String>> childrenById,
+        Map<String, Set<String>> directSlugs,
+        Set<String> slugs,
+        Set<String> visited
+    ) {
+        // 잘못 저장된 트리에 순환이 있어도 멈추지 않게 한 번 본 노드는 건너뛴다
+        if (!visited.add(id)) {
+            return;
+        }
+
+        slugs.addAll(directSlugs.getOrDefault(id, Set.of()));
+        for (String childId : childrenById.getOrDefault(id, List.of())) {
+            collectSlugs(childId, childrenById, directSlugs, slugs, visited);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Resolved(
+        CategoryTreePayload tree,
+        Map<String, Set<String>> postCategories,
+        ResolvedCategoryTreeResponse response
+    ) {
+    }
+}
@@ -4,33 +4,42 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jackblog.common.exception.BadRequestException;
 import com.jackblog.domain.categorytree.dto.CategoryTreePayload;
+import com.jackblog.domain.categorytree.dto.ResolvedCategoryTreeResponse;
 import com.jackblog.domain.categorytree.entity.CategoryTreeConfig;
 import com.jackblog.domain.categorytree.repository.CategoryTreeConfigRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+// 조회는 CategoryTreeCache 에서 끝나는 경우가 대부분이라 클래스 전체에 읽기 트랜잭션을 걸지 않는다.
+// 캐시가 비었을 때의 findById 는 리포지토리 자체 트랜잭션으로 읽는다
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class CategoryTreeService {
 
     private static final long CATEGORY_TREE_SINGLETON_ID = 1L;
 
     private final CategoryTreeConfigRepository categoryTreeConfigRepository;
     private final ObjectMapper objectMapper;
+    private final CategoryTreeCache categoryTreeCache;
 
     public CategoryTreePayload getCategoryTree() {
         try {
-            return categoryTreeConfigRepository.findById(CATEGORY_TREE_SINGLETON_ID)
-                .map(config -> deserialize(config.getPayloadJson()))
-                .orElseGet(() -> CategoryTreePayload.builder().build());
+            return categoryTreeCache.get(this::loadCategoryTree);
         } catch (Exception ex) {
-            // 운영 DB 스키마/데이터 불일치가 있어도 목록 페이지를 살리기 위해 안전 폴백
+            // 운영 DB 스키마/데이터 불일치가 있어도 목록 페이지를 살리기 위해 안전 폴백 (폴백 값은 캐시하지 않는다)
             return CategoryTreePayload.builder().build();
         }
     }
 
+    public ResolvedCategoryTreeResponse getResolvedCategoryTree() {
+        try {
+            return categoryTreeCache.getResolved(this::loadCategoryTree);
+        } catch (Exception ex) {
+            return ResolvedCategoryTreeResponse.builder().build();
+        }
+    }
+
     @Transactional
     public CategoryTreePayload updateCategoryTree(CategoryTreePayload payload) {
         validatePayload(payload);
@@ -46,9 +55,16 @@ public class CategoryTreeService {
 
         config.updatePayloadJson(serializedPayload);
         categoryTreeConfigRepository.save(config);
+        categoryTreeCache.replace(payload);
         return payload;
     }
 
+    private CategoryTreePayload loadCategoryTree() {
+        return categoryTreeConfigRepository.findById(CATEGORY_TREE_SINGLETON_ID)
+            .map(config -> deserialize(config.getPayloadJson()))
+            .orElseGet(() -> CategoryTreePayload.builder().build());
+    }
+
     private void validatePayload(CategoryTreePayload payload) {
         if (payload == null) {
             throw new BadRequestException("category tree payload is required");
@@ -5,11 +5,13 @@ import com.jackblog.domain.comment.dto.CommentCreateRequest;
 import com.jackblog.domain.comment.dto.CommentDeleteRequest;
 import com.jackblog.domain.comment.dto.CommentResponse;
 import com.jackblog.domain.comment.service.CommentService;
+import com.jackblog.domain.post.service.PostContentVersions;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -19,13 +21,20 @@ import java.util.List;
 public class CommentController {
 
     private final CommentService commentService;
+    private final PostContentVersions postContentVersions;
 
     @GetMapping("/posts/{slug}/comments")
     public ResponseEntity<ApiResponse<List<CommentResponse>>> getComments(
-        @PathVariable String slug
+        @PathVariable String slug,
+        WebRequest webRequest
     ) {
+        String etag = postContentVersions.commentsETag(slug);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         List<CommentResponse> comments = commentService.getComments(slug);
-        return ResponseEntity.ok(ApiResponse.success(comments));
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(comments));
     }
 
     @PostMapping("/posts/{slug}/comments")
@@ -8,8 +8,10 @@ import com.jackblog.domain.comment.dto.CommentResponse;
 import com.jackblog.domain.comment.entity.Comment;
 import com.jackblog.domain.comment.repository.CommentRepository;
 import com.jackblog.domain.post.entity.Post;
+import com.jackblog.domain.post.event.PostChangedEvent;
 import com.jackblog.domain.post.repository.PostRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +27,7 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<CommentResponse> getComments(String slug) {
         Post post = resolveCommentTargetPost(slug);
@@ -47,6 +50,8 @@ public class CommentService {
             .build();
 
         Comment savedComment = commentRepository.save(comment);
+        postRepository.adjustCommentCount(post.getId(), 1);
+        publishCommentsChanged(post, 1);
         return CommentResponse.from(savedComment);
     }
 
@@ -70,6 +75,8 @@ public class CommentService {
             .build();
 
         Comment savedReply = commentRepository.save(reply);
+        postRepository.adjustCommentCount(parentComment.getPost().getId(), 1);
+        publishCommentsChanged(parentComment.getPost(), 1);
         return CommentResponse.from(savedReply);
     }
 
@@ -90,11 +97,7 @@ public class CommentService {
             }
         }
 
-        if (comment.hasReplies()) {
-            comment.markAsDeleted();
-        } else {
-            commentRepository.delete(comment);
-        }
+        removeComment(comment);
     }
 
     @Transactional
@@ -102,11 +105,30 @@ public class CommentService {
         Comment comment = commentRepository.findById(commentId)
             .orElseThrow(() -> ResourceNotFoundException.comment(commentId));
 
+        removeComment(comment);
+    }
+
+    private void removeComment(Comment comment) {
+        boolean wasActive = !Boolean.TRUE.equals(comment.getIsDeleted());
+        Post post = comment.getPost();
+
         if (comment.hasReplies()) {
             comment.markAsDeleted();
         } else {
             commentRepository.delete(comment);
         }
+
+        // 이미 삭제 표시된 댓글은 카운터에서 빠져 있으므로 다시 차감하지 않는다
+        if (wasActive) {
+            postRepository.adjustCommentCount(post.getId(), -1);
+        }
+        publishCommentsChanged(post, wasActive ? -1 : 0);
+    }
+
+    private void publishCommentsChanged(Post post, long delta) {
+        eventPublisher.publishEvent(
+            new PostChangedEvent(post.getId(), post.getSlug(), PostChangedEvent.Type.COMMENTS, delta)
+        );
     }
 
     private Post resolveCommentTargetPost(String slug) {
@@ -0,0 +1,20 @@
+package com.jackblog.domain.live.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 같은 종류/같은 글의 이벤트는 구독자 버퍼에서 합쳐지므로 delta 는 마지막 전송 이후 바뀐 양의 합이다
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LiveEventResponse {
+    private String type;
+    private Long postId;
+    private String slug;
+    private long delta;
+    private int merged;
+    private LocalDateTime at;
+}
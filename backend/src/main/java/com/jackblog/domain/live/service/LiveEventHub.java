@@ -0,0 +1,209 @@
+package com.jackblog.domain.live.service;
+
+import com.jackblog.common.exception.BadRequestException;
+import com.jackblog.domain.live.dto.LiveEventResponse;
+import com.jackblog.domain.post.event.PostChangedEvent;
+import com.jackblog.domain.visitor.event.VisitsRecordedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// 방문/조회/좋아요/반응/댓글 변화를 관리자 대시보드에 SSE 로 밀어 준다.
+// 이벤트는 구독자별 버퍼에 합쳐 두기만 하고, 전송은 dispatch 주기마다 별도 스레드에서 한다.
+// SseEmitter.send 는 소켓에 동기로 쓰므로 구독자마다 최대 한 스레드를 쓰게 하고, 오래 막힌 구독자는 끊는다
+@Slf4j
+@Component
+public class LiveEventHub {
+
+    private static final String VISITS = "visits";
+
+    private final List<LiveSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService sender;
+    private final ExecutorService closer;
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final long emitterTimeoutMs;
+    private final long heartbeatIntervalMs;
+    private final long sendTimeoutMs;
+    private final Counter sentEvents;
+    private final Counter droppedEvents;
+    private final Counter stalledSubscribers;
+
+    public LiveEventHub(
+        MeterRegistry meterRegistry,
+        @Value("${live.max-subscribers:50}") int maxSubscribers,
+        @Value("${live.buffer-size:256}") int bufferSize,
+        @Value("${live.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+        @Value("${live.heartbeat-interval-ms:15000}") long heartbeatIntervalMs,
+        @Value("${live.send-timeout-ms:10000}") long sendTimeoutMs
+    ) {
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+        // Java 17 이라 가상 스레드 대신, 쉬는 스레드는 정리되는 구독자 수 상한의 풀을 쓴다
+        this.sender = new ThreadPoolExecutor(
+            0, maxSubscribers, 60, TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            new CustomizableThreadFactory("live-sse-")
+        );
+        // 막힌 구독자를 닫는 일은 쓰기 중인 스레드가 emitter 잠금을 놓을 때까지 기다릴 수 있어 스케줄러 밖에서 한다
+        this.closer = Executors.newCachedThreadPool(new CustomizableThreadFactory("live-sse-close-"));
+
+        Gauge.builder("jackblog.live.subscribers", subscribers, List::size)
+            .description("Open live event streams")
+            .register(meterRegistry);
+        this.sentEvents = Counter.builder("jackblog.live.events.sent")
+            .description("Coalesced live events written to subscribers")
+            .register(meterRegistry);
+        this.droppedEvents = Counter.builder("jackblog.live.events.dropped")
+            .description("Live events dropped because a subscriber buffer was full")
+            .register(meterRegistry);
+        this.stalledSubscribers = Counter.builder("jackblog.live.subscribers.stalled")
+            .description("Live subscribers disconnected because a write did not finish in time")
+            .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new BadRequestException("Too many live event subscribers");
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        LiveSubscriber subscriber = new LiveSubscriber(emitter, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        // 프록시가 응답 헤더를 바로 내려보내도록 첫 줄을 즉시 쓴다
+        try {
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            subscribers.remove(subscriber);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    // 배치가 커밋된 뒤 writer 스레드에서 호출되므로 버퍼에 넣고 바로 돌아간다
+    @EventListener
+    public void onVisitsRecorded(VisitsRecordedEvent event) {
+        publish(VISITS, VISITS, null, null, event.getVisits().size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.isAllPosts()) {
+            return;
+        }
+        switch (event.getType()) {
+            case VIEWS, LIKES, REACTIONS, COMMENTS -> {
+                String type = event.getType().name().toLowerCase(Locale.ROOT);
+                publish(type + ":" + event.getPostId(), type, event.getPostId(), event.getSlug(), event.getDelta());
+            }
+            default -> {
+            }
+        }
+    }
+
+    @Scheduled(
+        fixedDelayString = "${live.dispatch-interval-ms:1000}",
+        initialDelayString = "${live.dispatch-interval-ms:1000}"
+    )
+    public void dispatch() {
+        long now = System.currentTimeMillis();
+        long heartbeatBefore = now - heartbeatIntervalMs;
+        long stalledBefore = now - sendTimeoutMs;
+        for (LiveSubscriber subscriber : subscribers) {
+            if (subscriber.isStalled(stalledBefore)) {
+                // 더 이상 이벤트를 모으지 않게 바로 빼고, 연결 종료는 쓰기가 끝날 때까지 closer 스레드가 기다린다
+                stalledSubscribers.increment();
+                subscribers.remove(subscriber);
+                closer.execute(() -> subscriber.emitter().completeWithError(new IOException("Live subscriber write timed out")));
+                continue;
+            }
+
+            boolean due = subscriber.hasPending() || subscriber.lastSentAt() < heartbeatBefore;
+            // 이전 전송이 아직 끝나지 않은 느린 구독자는 건너뛰고, 그동안 이벤트는 버퍼에서 합쳐진다
+            if (due && subscriber.tryStartSending()) {
+                try {
+                    sender.execute(() -> send(subscriber));
+                } catch (RejectedExecutionException e) {
+                    // 끊긴 구독자의 쓰기가 아직 풀려나지 않아 스레드가 모자라면 다음 주기에 보낸다
+                    subscriber.finishSending();
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        closer.shutdownNow();
+        for (LiveSubscriber subscriber : subscribers) {
+            subscriber.emitter().complete();
+        }
+        subscribers.clear();
+    }
+
+    private void publish(String key, String type, Long postId, String slug, long delta) {
+        for (LiveSubscriber subscriber : subscribers) {
+            if (subscriber.offer(key, type, postId, slug, delta)) {
+                droppedEvents.increment();
+            }
+        }
+    }
+
+    private void send(LiveSubscriber subscriber) {
+        SseEmitter emitter = subscriber.emitter();
+        try {
+            LiveSubscriber.Batch batch = subscriber.drain();
+            if (batch.dropped() > 0) {
+                // 놓친 이벤트가 있으니 클라이언트가 통계를 다시 읽도록 알린다
+                emitter.send(SseEmitter.event()
+                    .name("dropped")
+                    .data(Map.of("count", batch.dropped()), MediaType.APPLICATION_JSON));
+            }
+            for (LiveEventResponse event : batch.events()) {
+                emitter.send(SseEmitter.event()
+                    .name(event.getType())
+                    .data(event, MediaType.APPLICATION_JSON));
+            }
+            if (batch.events().isEmpty() && batch.dropped() == 0) {
+                emitter.send(SseEmitter.event().comment("ping"));
+            }
+            sentEvents.increment(batch.events().size());
+        } catch (IOException | IllegalStateException e) {
+            // 연결이 끊긴 구독자는 정리한다
+            log.debug("Dropping live subscriber: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            emitter.completeWithError(e);
+        } finally {
+            subscriber.finishSending();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.jackblog.domain.live.service;
+
+import com.jackblog.domain.live.dto.LiveEventResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 구독자 하나의 보낼 이벤트 버퍼. 같은 key 는 하나로 합치고, 가득 차면 가장 오래된 key 를 버린다.
+// 이벤트를 넣는 쪽은 짧은 lock 만 잡고 바로 돌아가므로 느린 클라이언트가 writer 를 막지 않는다
+final class LiveSubscriber {
+
+    private final SseEmitter emitter;
+    private final int bufferSize;
+    private final Map<String, PendingEvent> pending = new LinkedHashMap<>();
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private long dropped;
+    private volatile long lastSentAt = System.currentTimeMillis();
+    private volatile long sendingSince;
+
+    LiveSubscriber(SseEmitter emitter, int bufferSize) {
+        this.emitter = emitter;
+        this.bufferSize = bufferSize;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    // 버퍼가 넘쳐 버린 이벤트가 있으면 true
+    synchronized boolean offer(String key, String type, Long postId, String slug, long delta) {
+        PendingEvent event = pending.get(key);
+        if (event != null) {
+            event.delta += delta;
+            event.merged++;
+            event.at = LocalDateTime.now();
+            return false;
+        }
+
+        boolean overflowed = false;
+        if (pending.size() >= bufferSize) {
+            Iterator<PendingEvent> eldest = pending.values().iterator();
+            eldest.next();
+            eldest.remove();
+            dropped++;
+            overflowed = true;
+        }
+        pending.put(key, new PendingEvent(type, postId, slug, delta));
+        return overflowed;
+    }
+
+    synchronized boolean hasPending() {
+        return !pending.isEmpty() || dropped > 0;
+    }
+
+    synchronized Batch drain() {
+        List<LiveEventResponse> events = new ArrayList<>(pending.size());
+        for (PendingEvent event : pending.values()) {
+            events.add(LiveEventResponse.builder()
+                .type(event.type)
+                .postId(event.postId)
+                .slug(event.slug)
+                .delta(event.delta)
+                .merged(event.merged)
+                .at(event.at)
+                .build());
+        }
+        pending.clear();
+        Batch batch = new Batch(events, dropped);
+        dropped = 0;
+        return batch;
+    }
+
+    // 한 구독자에게는 동시에 하나의 전송만 돌게 한다
+    boolean tryStartSending() {
+        if (!sending.compareAndSet(false, true)) {
+            return false;
+        }
+        sendingSince = System.currentTimeMillis();
+        return true;
+    }
+
+    // 소켓 쓰기가 startedBefore 이전부터 끝나지 않은 구독자
+    boolean isStalled(long startedBefore) {
+        return sending.get() && sendingSince < startedBefore;
+    }
+
+    void finishSending() {
+        lastSentAt = System.currentTimeMillis();
+        sending.set(false);
+    }
+
+    long lastSentAt() {
+        return lastSentAt;
+    }
+
+    record Batch(List<LiveEventResponse> events, long dropped) {
+    }
+
+    private static final class PendingEvent {
+        private final String type;
+        private final Long postId;
+        private final String slug;
+        private long delta;
+        private int merged = 1;
+        private LocalDateTime at = LocalDateTime.now();
+
+        private PendingEvent(String type, Long postId, String slug, long delta) {
+            this.type = type;
+            this.postId = postId;
+            this.slug = slug;
+            this.delta = delta;
+        }
+    }
+}
@@ -1,17 +1,28 @@
 package com.jackblog.domain.post.controller;
 
 import com.jackblog.common.response.ApiResponse;
+import com.jackblog.common.response.CursorPageResponse;
 import com.jackblog.common.response.PageResponse;
 import com.jackblog.domain.post.dto.*;
+import com.jackblog.domain.post.search.PostSuggestionIndex;
+import com.jackblog.domain.post.service.PostCategoryRegistry;
+import com.jackblog.domain.post.service.PostContentVersions;
+import com.jackblog.domain.post.service.PostDerivedFieldBackfill;
+import com.jackblog.domain.post.service.PostDetailCache;
+import com.jackblog.domain.post.service.PostHourlyStats;
+import com.jackblog.domain.post.service.PostListResponseCache;
 import com.jackblog.domain.post.service.PostService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -19,30 +30,96 @@ import java.util.List;
 public class PostController {
 
     private final PostService postService;
+    private final PostDetailCache postDetailCache;
+    private final PostListResponseCache postListResponseCache;
+    private final PostContentVersions postContentVersions;
+    private final PostSuggestionIndex postSuggestionIndex;
+    private final PostCategoryRegistry postCategoryRegistry;
+    private final PostDerivedFieldBackfill postDerivedFieldBackfill;
+    private final PostHourlyStats postHourlyStats;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<PageResponse<PostResponse>>> getPosts(
+    public ResponseEntity<byte[]> getPosts(
         @RequestParam(defaultValue = "0") int page,
         @RequestParam(defaultValue = "10") int size,
-        @RequestParam(required = false) String category
+        @RequestParam(required = false) String category,
+        WebRequest webRequest
     ) {
-        Page<PostResponse> posts = postService.getPosts(page, size, category);
-        return ResponseEntity.ok(ApiResponse.success(PageResponse.from(posts)));
+        String etag = postContentVersions.listETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        byte[] body = postListResponseCache.get(PostListResponseCache.postsKey(page, size, category), () -> {
+            Page<PostResponse> posts = postService.getPosts(page, size, category);
+            return ApiResponse.success(PageResponse.from(posts));
+        });
+        return jsonResponse(body, etag);
     }
 
     @GetMapping("/all")
     public ResponseEntity<ApiResponse<PageResponse<PostResponse>>> getAllPosts(
         @RequestParam(defaultValue = "0") int page,
-        @RequestParam(defaultValue = "10") int size
+        @RequestParam(defaultValue = "10") int size,
+        WebRequest webRequest
     ) {
+        String etag = postContentVersions.listETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         Page<PostResponse> posts = postService.getAllPosts(page, size);
-        return ResponseEntity.ok(ApiResponse.success(PageResponse.from(posts)));
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(PageResponse.from(posts)));
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<byte[]> getPostsAfter(
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = "10") int size,
+        @RequestParam(required = false) String category,
+        @RequestParam(defaultValue = "false") boolean includeTotal,
+        WebRequest webRequest
+    ) {
+        String etag = postContentVersions.listETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        String key = PostListResponseCache.cursorKey(after, size, category, includeTotal);
+        byte[] body = postListResponseCache.get(key, () ->
+            ApiResponse.success(postService.getPostsAfter(after, size, category, includeTotal))
+        );
+        return jsonResponse(body, etag);
+    }
+
+    @GetMapping("/all/cursor")
+    public ResponseEntity<ApiResponse<CursorPageResponse<PostResponse>>> getAllPostsAfter(
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = "10") int size,
+        @RequestParam(defaultValue = "false") boolean includeTotal,
+        WebRequest webRequest
+    ) {
+        String etag = postContentVersions.listETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        CursorPageResponse<PostResponse> posts = postService.getAllPostsAfter(after, size, includeTotal);
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(posts));
     }
 
     @GetMapping("/{slug}")
-    public ResponseEntity<ApiResponse<PostDetailResponse>> getPost(@PathVariable String slug) {
-        PostDetailResponse post = postService.getPost(slug);
-        return ResponseEntity.ok(ApiResponse.success(post));
+    public ResponseEntity<ApiResponse<PostDetailResponse>> getPost(
+        @PathVariable String slug,
+        WebRequest webRequest
+    ) {
+        String etag = postContentVersions.postETag(slug);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        PostDetailResponse post = postDetailCache.get(slug, postService::getPost);
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(post));
     }
 
     @GetMapping("/{slug}/admin")
@@ -51,6 +128,14 @@ public class PostController {
         return ResponseEntity.ok(ApiResponse.success(post));
     }
 
+    @GetMapping("/{slug}/stats/hourly")
+    public ResponseEntity<ApiResponse<PostHourlySeriesResponse>> getHourlyStats(
+        @PathVariable String slug,
+        @RequestParam(defaultValue = "48") int hours
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(postHourlyStats.getSeries(slug, hours)));
+    }
+
     @PostMapping("/{slug}/view")
     public ResponseEntity<ApiResponse<Void>> incrementViewCount(@PathVariable String slug) {
         postService.incrementViewCount(slug);
@@ -81,25 +166,96 @@ public class PostController {
         return ResponseEntity.ok(ApiResponse.success("Post deleted"));
     }
 
+    @PostMapping("/counters/reconcile")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> reconcileCounters() {
+        int updatedPosts = postService.reconcileCounters();
+        return ResponseEntity.ok(ApiResponse.success("Post counters reconciled", Map.of(
+            "updatedPosts", updatedPosts
+        )));
+    }
+
+    @PostMapping("/derived/backfill")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> backfillDerivedFields() {
+        int updatedPosts = postDerivedFieldBackfill.backfill();
+        return ResponseEntity.ok(ApiResponse.success("Derived post fields backfilled", Map.of(
+            "updatedPosts", updatedPosts
+        )));
+    }
+
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> rebuildSearchIndex() {
+        int indexedPosts = postService.rebuildSearchIndex();
+        return ResponseEntity.ok(ApiResponse.success("Search index rebuilt", Map.of(
+            "indexedPosts", indexedPosts
+        )));
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<PostResponse>>> searchPosts(
-        @RequestParam String q
+    public ResponseEntity<ApiResponse<PageResponse<PostResponse>>> searchPosts(
+        @RequestParam String q,
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "10") int size,
+        WebRequest webRequest
+    ) {
+        String etag = postContentVersions.listETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        Page<PostResponse> posts = postService.searchPosts(q, page, size);
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(PageResponse.from(posts)));
+    }
+
+    // 입력할 때마다 호출되므로 DB 를 거치지 않고 메모리의 trie 에서만 답한다
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<PostSuggestionResponse>>> suggestPosts(
+        @RequestParam String prefix,
+        @RequestParam(defaultValue = "8") int limit
     ) {
-        List<PostResponse> posts = postService.searchPosts(q);
-        return ResponseEntity.ok(ApiResponse.success(posts));
+        return ResponseEntity.ok(ApiResponse.success(postSuggestionIndex.suggest(prefix, limit)));
     }
 
     @GetMapping("/categories")
-    public ResponseEntity<ApiResponse<List<String>>> getCategories() {
-        List<String> categories = postService.getCategories();
-        return ResponseEntity.ok(ApiResponse.success(categories));
+    public ResponseEntity<ApiResponse<List<String>>> getCategories(WebRequest webRequest) {
+        String etag = postContentVersions.listETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(postCategoryRegistry.getCategories()));
+    }
+
+    @GetMapping("/categories/counts")
+    public ResponseEntity<ApiResponse<List<CategoryCountResponse>>> getCategoryCounts(WebRequest webRequest) {
+        String etag = postContentVersions.listETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(postCategoryRegistry.getCategoryCounts()));
     }
 
     @GetMapping("/popular")
-    public ResponseEntity<ApiResponse<List<PostResponse>>> getPopularPosts(
-        @RequestParam(defaultValue = "5") int limit
+    public ResponseEntity<byte[]> getPopularPosts(
+        @RequestParam(defaultValue = "5") int limit,
+        WebRequest webRequest
     ) {
-        List<PostResponse> posts = postService.getPopularPosts(limit);
-        return ResponseEntity.ok(ApiResponse.success(posts));
+        String etag = postContentVersions.popularETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        byte[] body = postListResponseCache.get(PostListResponseCache.popularKey(limit), () ->
+            ApiResponse.success(postService.getPopularPosts(limit))
+        );
+        return jsonResponse(body, etag);
+    }
+
+    // 캐시된 UTF-8 JSON 바이트를 그대로 응답 스트림에 쓴다
+    private ResponseEntity<byte[]> jsonResponse(byte[] body, String etag) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(etag)
+            .body(body);
     }
 }
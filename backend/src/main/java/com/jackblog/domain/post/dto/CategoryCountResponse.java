@@ -0,0 +1,16 @@
+package com.jackblog.domain.post.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryCountResponse {
+    private String name;
+    // 이 카테고리에 속한 공개 글 수
+    private int postCount;
+}
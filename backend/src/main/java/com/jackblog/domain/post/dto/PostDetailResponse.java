@@ -1,5 +1,6 @@
 package com.jackblog.domain.post.dto;
 
+import com.fasterxml.jackson.annotation.JsonRawValue;
 import com.jackblog.domain.post.entity.Post;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -33,25 +34,9 @@ public class PostDetailResponse {
     private long commentCount;
     private long likeCount;
 
-    private static String resolveThumbnail(Post post) {
-        if (StringUtils.hasText(post.getThumbnail())) {
-            return post.getThumbnail().trim();
-        }
-
-        if (!StringUtils.hasText(post.getContentHtml())) {
-            return null;
-        }
-
-        java.util.regex.Matcher matcher = java.util.regex.Pattern
-            .compile("<img[^>]+src=[\"']([^\"']+)[\"'][^>]*>", java.util.regex.Pattern.CASE_INSENSITIVE)
-            .matcher(post.getContentHtml());
-
-        if (matcher.find()) {
-            return matcher.group(1).trim();
-        }
-
-        return null;
-    }
+    // 저장된 JSON 배열을 다시 파싱하지 않고 그대로 내보낸다
+    @JsonRawValue
+    private String tableOfContents;
 
     private static List<String> resolveCategories(Post post) {
         if (post.getCategories() != null && !post.getCategories().isEmpty()) {
@@ -65,7 +50,7 @@ public class PostDetailResponse {
         return List.of();
     }
 
-    public static PostDetailResponse from(Post post, long commentCount, long likeCount) {
+    public static PostDetailResponse from(Post post) {
         List<String> categories = resolveCategories(post);
         return PostDetailResponse.builder()
             .id(post.getId())
@@ -74,7 +59,7 @@ public class PostDetailResponse {
             .content(post.getContent())
             .contentHtml(post.getContentHtml())
             .excerpt(post.getExcerpt())
-            .thumbnail(resolveThumbnail(post))
+            .thumbnail(post.getThumbnail())
             .category(categories.isEmpty() ? post.getCategory() : categories.get(0))
             .categories(categories)
             .readingTime(post.getReadingTime())
@@ -83,8 +68,9 @@ public class PostDetailResponse {
             .createdAt(post.getCreatedAt())
             .updatedAt(post.getUpdatedAt())
             .publishedAt(post.getPublishedAt())
-            .commentCount(commentCount)
-            .likeCount(likeCount)
+            .commentCount(post.getCommentCount())
+            .likeCount(post.getLikeCount())
+            .tableOfContents(post.getTableOfContents())
             .build();
     }
 }
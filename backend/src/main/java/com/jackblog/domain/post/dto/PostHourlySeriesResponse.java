@@ -0,0 +1,20 @@
+package com.jackblog.domain.post.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 스파크라인용 시간별 값. 배열의 i 번째는 from + i 시간 구간이고 마지막 값은 현재 진행 중인 시간이다.
+// likes/reactions 는 취소를 뺀 순증가분이라 음수일 수 있다
+@Getter
+@Builder
+public class PostHourlySeriesResponse {
+    private Long postId;
+    private String slug;
+    private LocalDateTime from;
+    private int hours;
+    private long[] views;
+    private long[] likes;
+    private long[] reactions;
+}
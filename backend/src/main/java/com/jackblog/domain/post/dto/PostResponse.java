@@ -1,6 +1,8 @@
 package com.jackblog.domain.post.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.jackblog.domain.post.entity.Post;
+import com.jackblog.domain.post.repository.PostSummary;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -31,81 +33,62 @@ public class PostResponse {
     private LocalDateTime updatedAt;
     private LocalDateTime publishedAt;
 
-    private static String buildExcerpt(Post post) {
-        if (StringUtils.hasText(post.getExcerpt())) {
-            return post.getExcerpt().trim();
-        }
-
-        if (!StringUtils.hasText(post.getContent())) {
-            return "";
-        }
-
-        String plainText = post.getContent()
-            .replaceAll("```[\\s\\S]*?```", " ")
-            .replaceAll("`[^`]*`", " ")
-            .replaceAll("!\\[[^\\]]*\\]\\([^)]*\\)", " ")
-            .replaceAll("\\[[^\\]]*\\]\\([^)]*\\)", " ")
-            .replaceAll("[#>*_~\\-]", " ")
-            .replaceAll("\\s+", " ")
-            .trim();
-
-        if (plainText.length() <= 180) {
-            return plainText;
-        }
-
-        return plainText.substring(0, 177) + "...";
-    }
-
-    private static String resolveThumbnail(Post post) {
-        if (StringUtils.hasText(post.getThumbnail())) {
-            return post.getThumbnail().trim();
-        }
-
-        if (!StringUtils.hasText(post.getContentHtml())) {
-            return null;
-        }
-
-        java.util.regex.Matcher matcher = java.util.regex.Pattern
-            .compile("<img[^>]+src=[\"']([^\"']+)[\"'][^>]*>", java.util.regex.Pattern.CASE_INSENSITIVE)
-            .matcher(post.getContentHtml());
-
-        if (matcher.find()) {
-            return matcher.group(1).trim();
-        }
-
-        return null;
-    }
+    // 검색 결과에서만 채워지는 일치 구간 강조 HTML
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String highlight;
 
-    private static List<String> resolveCategories(Post post) {
-        if (post.getCategories() != null && !post.getCategories().isEmpty()) {
-            return List.copyOf(post.getCategories());
+    private static List<String> resolveCategories(List<String> categories, String legacyCategory) {
+        if (categories != null && !categories.isEmpty()) {
+            return List.copyOf(categories);
         }
 
-        if (StringUtils.hasText(post.getCategory())) {
-            return List.of(post.getCategory().trim());
+        if (StringUtils.hasText(legacyCategory)) {
+            return List.of(legacyCategory.trim());
         }
 
         return List.of();
     }
 
     public static PostResponse from(Post post) {
-        return from(post, 0L, 0L);
+        return from(post, null);
+    }
+
+    public static PostResponse from(Post post, String highlight) {
+        List<String> categories = resolveCategories(post.getCategories(), post.getCategory());
+        return PostResponse.builder()
+            .id(post.getId())
+            .slug(post.getSlug())
+            .title(post.getTitle())
+            .excerpt(post.getExcerpt())
+            .thumbnail(post.getThumbnail())
+            .category(categories.isEmpty() ? post.getCategory() : categories.get(0))
+            .categories(categories)
+            .readingTime(post.getReadingTime())
+            .viewCount(post.getViewCount())
+            .commentCount(post.getCommentCount())
+            .likeCount(post.getLikeCount())
+            .isPublished(post.getIsPublished())
+            .createdAt(post.getCreatedAt())
+            .updatedAt(post.getUpdatedAt())
+            .publishedAt(post.getPublishedAt())
+            .highlight(highlight)
+            .build();
     }
 
-    public static PostResponse from(Post post, long commentCount, long likeCount) {
-        List<String> categories = resolveCategories(post);
+    public static PostResponse from(PostSummary post, List<String> postCategories) {
+        List<String> categories = resolveCategories(postCategories, post.getCategory());
         return PostResponse.builder()
             .id(post.getId())
             .slug(post.getSlug())
             .title(post.getTitle())
-            .excerpt(buildExcerpt(post))
-            .thumbnail(resolveThumbnail(post))
+            .excerpt(post.getExcerpt())
+            .thumbnail(post.getThumbnail())
             .category(categories.isEmpty() ? post.getCategory() : categories.get(0))
             .categories(categories)
             .readingTime(post.getReadingTime())
             .viewCount(post.getViewCount())
-            .commentCount(commentCount)
-            .likeCount(likeCount)
+            .commentCount(post.getCommentCount())
+            .likeCount(post.getLikeCount())
             .isPublished(post.getIsPublished())
             .createdAt(post.getCreatedAt())
             .updatedAt(post.getUpdatedAt())
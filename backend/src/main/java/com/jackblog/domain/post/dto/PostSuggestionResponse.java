@@ -0,0 +1,21 @@
+package com.jackblog.domain.post.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSuggestionResponse {
+    // POST 또는 CATEGORY
+    private String type;
+    private String text;
+
+    // 글 추천어에서만 채워진다
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String slug;
+}
@@ -1,10 +1,13 @@
 package com.jackblog.domain.post.entity;
 
 import com.jackblog.domain.comment.entity.Comment;
+import com.jackblog.domain.post.markdown.MarkdownAnalysis;
 import com.jackblog.domain.reaction.entity.PostLike;
 import com.jackblog.domain.reaction.entity.Reaction;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -12,7 +15,15 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Entity
-@Table(name = "post")
+@Table(
+    name = "post",
+    indexes = {
+        // keyset 페이지네이션 정렬 순서와 같은 복합 인덱스
+        @Index(name = "idx_post_published_at_id", columnList = "is_published, published_at, id"),
+        @Index(name = "idx_post_created_at_id", columnList = "created_at, id")
+    }
+)
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -45,8 +56,18 @@ public class Post {
     @Column(nullable = false, length = 100)
     private String category;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "post_categories", joinColumns = @JoinColumn(name = "post_id"))
+    // 목록은 PostSummary 로 읽고 카테고리는 따로 한 번에 조회한다.
+    // 엔티티로 여러 글을 읽는 경우에도 글마다 SELECT 하지 않도록 batch 로 가져온다
+    @ElementCollection
+    @BatchSize(size = 100)
+    @CollectionTable(
+        name = "post_categories",
+        joinColumns = @JoinColumn(name = "post_id"),
+        indexes = {
+            @Index(name = "idx_post_categories_post_id", columnList = "post_id"),
+            @Index(name = "idx_post_categories_name_post", columnList = "category_name, post_id")
+        }
+    )
     @Column(name = "category_name", nullable = false, length = 100)
     @Builder.Default
     private List<String> categories = new ArrayList<>();
@@ -54,10 +75,36 @@ public class Post {
     @Column(name = "reading_time")
     private Integer readingTime;
 
+    // 아래 값들은 저장할 때 본문을 한 번 분석해 채우고, 읽을 때는 다시 계산하지 않는다
+    @Column(name = "word_count")
+    private Integer wordCount;
+
+    @Column(name = "hangul_count")
+    private Integer hangulCount;
+
+    @Column(name = "first_image_url", length = 1000)
+    private String firstImageUrl;
+
+    // 제목 목차와 외부 링크는 JSON 배열 문자열로 저장한다
+    @Column(name = "table_of_contents", columnDefinition = "TEXT")
+    private String tableOfContents;
+
+    @Column(name = "outbound_links", columnDefinition = "TEXT")
+    private String outboundLinks;
+
     @Column(name = "view_count")
     @Builder.Default
     private Integer viewCount = 0;
 
+    // 댓글/좋아요 수는 bulk UPDATE 로만 증감하므로 엔티티 flush 가 덮어쓰지 않도록 @DynamicUpdate 를 사용한다
+    @Column(name = "comment_count", nullable = false, columnDefinition = "INTEGER NOT NULL DEFAULT 0")
+    @Builder.Default
+    private Long commentCount = 0L;
+
+    @Column(name = "like_count", nullable = false, columnDefinition = "INTEGER NOT NULL DEFAULT 0")
+    @Builder.Default
+    private Long likeCount = 0L;
+
     @Column(name = "is_published")
     @Builder.Default
     private Boolean isPublished = false;
@@ -94,10 +141,6 @@ public class Post {
         updatedAt = LocalDateTime.now();
     }
 
-    public void incrementViewCount() {
-        this.viewCount = this.viewCount + 1;
-    }
-
     public void publish() {
         this.isPublished = true;
         this.publishedAt = LocalDateTime.now();
@@ -108,17 +151,25 @@ public class Post {
         this.publishedAt = null;
     }
 
-    public void updateContent(String title, String content, String contentHtml, String excerpt,
-                              String thumbnail, List<String> categories, Integer readingTime) {
+    public void updateContent(String title, String content, String excerpt,
+                              String thumbnail, List<String> categories) {
         this.title = title;
         this.content = content;
-        this.contentHtml = contentHtml;
         this.excerpt = excerpt;
         this.thumbnail = thumbnail;
         this.categories = categories == null
             ? new ArrayList<>()
             : categories.stream().collect(Collectors.toCollection(ArrayList::new));
         this.category = this.categories.isEmpty() ? null : this.categories.get(0);
-        this.readingTime = readingTime;
+    }
+
+    public void applyAnalysis(MarkdownAnalysis analysis) {
+        this.contentHtml = analysis.getHtml();
+        this.readingTime = analysis.getReadingTime();
+        this.wordCount = analysis.getWordCount();
+        this.hangulCount = analysis.getHangulCount();
+        this.firstImageUrl = analysis.getFirstImageUrl();
+        this.tableOfContents = analysis.getTableOfContents();
+        this.outboundLinks = analysis.getOutboundLinks();
     }
 }
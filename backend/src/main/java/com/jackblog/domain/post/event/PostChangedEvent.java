@@ -0,0 +1,42 @@
+package com.jackblog.domain.post.event;
+
+import lombok.Getter;
+
+@Getter
+public class PostChangedEvent {
+
+    public enum Type {
+        CONTENT,
+        DELETED,
+        COMMENTS,
+        LIKES,
+        REACTIONS,
+        VIEWS
+    }
+
+    private final Long postId;
+    private final String slug;
+    private final Type type;
+    // 카운터가 바뀐 양 (조회수 증가분, 좋아요/반응/댓글 +1/-1). 알 수 없거나 의미 없으면 0
+    private final long delta;
+
+    public PostChangedEvent(Long postId, String slug, Type type) {
+        this(postId, slug, type, 0);
+    }
+
+    public PostChangedEvent(Long postId, String slug, Type type, long delta) {
+        this.postId = postId;
+        this.slug = slug;
+        this.type = type;
+        this.delta = delta;
+    }
+
+    // 카운터 재계산처럼 여러 글이 한꺼번에 바뀐 경우 postId/slug 없이 발행한다
+    public static PostChangedEvent allPosts(Type type) {
+        return new PostChangedEvent(null, null, type);
+    }
+
+    public boolean isAllPosts() {
+        return slug == null;
+    }
+}
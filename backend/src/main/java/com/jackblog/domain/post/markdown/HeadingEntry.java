@@ -0,0 +1,13 @@
+package com.jackblog.domain.post.markdown;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class HeadingEntry {
+    private int level;
+    private String text;
+    // 렌더링된 HTML 의 제목 id (직접 작성한 HTML 제목에 id 가 없으면 null)
+    private String anchor;
+}
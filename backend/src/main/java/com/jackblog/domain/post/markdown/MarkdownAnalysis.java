@@ -0,0 +1,18 @@
+package com.jackblog.domain.post.markdown;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class MarkdownAnalysis {
+    private final String html;
+    private final String excerpt;
+    private final int wordCount;
+    private final int hangulCount;
+    private final int readingTime;
+    private final String firstImageUrl;
+    // 읽을 때 다시 직렬화하지 않도록 JSON 배열 문자열로 만들어 둔다
+    private final String tableOfContents;
+    private final String outboundLinks;
+}
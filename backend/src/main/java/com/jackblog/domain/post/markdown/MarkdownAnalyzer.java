@@ -0,0 +1,254 @@
+package com.jackblog.domain.post.markdown;
+
+import com.vladsch.flexmark.ast.Code;
+import com.vladsch.flexmark.ast.FencedCodeBlock;
+import com.vladsch.flexmark.ast.HardLineBreak;
+import com.vladsch.flexmark.ast.Heading;
+import com.vladsch.flexmark.ast.HtmlBlock;
+import com.vladsch.flexmark.ast.HtmlInline;
+import com.vladsch.flexmark.ast.Image;
+import com.vladsch.flexmark.ast.IndentedCodeBlock;
+import com.vladsch.flexmark.ast.LinkNodeBase;
+import com.vladsch.flexmark.ast.SoftLineBreak;
+import com.vladsch.flexmark.ast.Text;
+import com.vladsch.flexmark.ext.tables.TableCell;
+import com.vladsch.flexmark.util.ast.Block;
+import com.vladsch.flexmark.util.ast.Node;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 파싱된 문서를 한 번만 순회하면서 요약, 글자 수, 첫 이미지, 목차, 외부 링크를 함께 모은다.
+// 에디터가 저장한 글은 본문 대부분이 HTML 블록이라 HTML 안의 제목/이미지/링크도 같은 순회에서 처리한다
+final class MarkdownAnalyzer {
+
+    static final int EXCERPT_LENGTH = 200;
+    private static final int WORDS_PER_MINUTE = 200;
+    private static final int MAX_OUTBOUND_LINKS = 100;
+
+    private static final Pattern HTML_IMAGE_SRC = Pattern.compile(
+        "<img[^>]+src=[\"']([^\"']+)[\"']", Pattern.CASE_INSENSITIVE
+    );
+    private static final Pattern HTML_LINK_HREF = Pattern.compile(
+        "<a\\s[^>]*href=[\"']([^\"']+)[\"']", Pattern.CASE_INSENSITIVE
+    );
+    private static final Pattern HTML_HEADING = Pattern.compile(
+        "<h([1-6])([^>]*)>(.*?)</h\\1\\s*>", Pattern.CASE_INSENSITIVE | Pattern.DOTALL
+    );
+    private static final Pattern HTML_ID_ATTRIBUTE = Pattern.compile(
+        "\\bid=[\"']([^\"']+)[\"']", Pattern.CASE_INSENSITIVE
+    );
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final StringBuilder excerpt = new StringBuilder();
+    private final List<HeadingEntry> headings = new ArrayList<>();
+    private final Set<String> outboundLinks = new LinkedHashSet<>();
+    private StringBuilder headingText;
+    private String firstImageUrl;
+    private int wordCount;
+    private int hangulCount;
+    private boolean inWord;
+
+    void visit(Node node) {
+        if (node instanceof Heading heading) {
+            visitHeading(heading);
+            return;
+        }
+        if (node instanceof FencedCodeBlock || node instanceof IndentedCodeBlock) {
+            // 코드는 읽는 시간에는 넣지만 요약에는 넣지 않는다
+            separate();
+            count(((Block) node).getContentChars());
+            return;
+        }
+        if (node instanceof HtmlBlock) {
+            separate();
+            visitHtml(node.getChars().toString());
+            separate();
+            return;
+        }
+        if (node instanceof HtmlInline) {
+            visitHtml(node.getChars().toString());
+            return;
+        }
+        if (node instanceof Image image) {
+            recordImage(image.getUrl().unescape());
+            return;
+        }
+        if (node instanceof Text) {
+            appendText(node.getChars().unescape());
+            return;
+        }
+        if (node instanceof Code code) {
+            appendText(code.getText().toString());
+            return;
+        }
+        if (node instanceof SoftLineBreak || node instanceof HardLineBreak) {
+            appendText(" ");
+            return;
+        }
+
+        if (node instanceof LinkNodeBase link) {
+            recordLink(link.getUrl().unescape());
+        }
+        if (node instanceof Block || node instanceof TableCell) {
+            separate();
+        }
+        visitChildren(node);
+    }
+
+    int getWordCount() {
+        return wordCount;
+    }
+
+    int getHangulCount() {
+        return hangulCount;
+    }
+
+    int getReadingTime() {
+        return Math.max(1, (wordCount + hangulCount / 2) / WORDS_PER_MINUTE);
+    }
+
+    String getExcerpt() {
+        String text = excerpt.toString().trim();
+        if (text.length() <= EXCERPT_LENGTH) {
+            return text;
+        }
+        return text.substring(0, EXCERPT_LENGTH - 3).trim() + "...";
+    }
+
+    String getFirstImageUrl() {
+        return firstImageUrl;
+    }
+
+    List<HeadingEntry> getHeadings() {
+        return headings;
+    }
+
+    List<String> getOutboundLinks() {
+        return new ArrayList<>(outboundLinks);
+    }
+
+    private void visitChildren(Node node) {
+        for (Node child = node.getFirstChild(); child != null; child = child.getNext()) {
+            visit(child);
+        }
+    }
+
+    // anchor id 는 HtmlRenderer 가 렌더링하면서 채우므로 렌더링 뒤에 순회해야 한다
+    private void visitHeading(Heading heading) {
+        separate();
+        headingText = new StringBuilder();
+        visitChildren(heading);
+        addHeading(heading.getLevel(), headingText.toString(), heading.getAnchorRefId());
+        headingText = null;
+        separate();
+    }
+
+    private void visitHtml(String html) {
+        Matcher images = HTML_IMAGE_SRC.matcher(html);
+        if (images.find()) {
+            recordImage(HtmlUtils.htmlUnescape(images.group(1)));
+        }
+
+        Matcher links = HTML_LINK_HREF.matcher(html);
+        while (links.find()) {
+            recordLink(HtmlUtils.htmlUnescape(links.group(1)));
+        }
+
+        // 제목은 목차에만 넣고, 나머지 텍스트만 요약에 쓴다
+        Matcher headingMatcher = HTML_HEADING.matcher(html);
+        StringBuilder body = new StringBuilder();
+        int cursor = 0;
+        while (headingMatcher.find()) {
+            body.append(html, cursor, headingMatcher.start()).append(' ');
+            cursor = headingMatcher.end();
+
+            String text = toPlainText(headingMatcher.group(3));
+            Matcher id = HTML_ID_ATTRIBUTE.matcher(headingMatcher.group(2));
+            addHeading(Integer.parseInt(headingMatcher.group(1)), text, id.find() ? id.group(1) : null);
+            count(text);
+            separate();
+        }
+        body.append(html, cursor, html.length());
+
+        appendText(toPlainText(body.toString()));
+    }
+
+    private void addHeading(int level, String text, String anchor) {
+        String normalized = WHITESPACE.matcher(text.trim()).replaceAll(" ");
+        if (!normalized.isEmpty()) {
+            headings.add(new HeadingEntry(level, normalized, StringUtils.hasText(anchor) ? anchor : null));
+        }
+    }
+
+    private void recordImage(String url) {
+        if (firstImageUrl == null && StringUtils.hasText(url)) {
+            firstImageUrl = url.trim();
+        }
+    }
+
+    private void recordLink(String url) {
+        String trimmed = url == null ? "" : url.trim();
+        String lower = trimmed.toLowerCase(Locale.ROOT);
+        if ((lower.startsWith("http://") || lower.startsWith("https://")) && outboundLinks.size() < MAX_OUTBOUND_LINKS) {
+            outboundLinks.add(trimmed);
+        }
+    }
+
+    private void appendText(CharSequence text) {
+        count(text);
+        if (headingText != null) {
+            headingText.append(text);
+            return;
+        }
+
+        // 요약은 앞부분만 필요하므로 잘릴지 판단할 수 있을 만큼만 모은다
+        for (int index = 0; index < text.length() && excerpt.length() <= EXCERPT_LENGTH; index++) {
+            char character = text.charAt(index);
+            if (Character.isWhitespace(character)) {
+                if (excerpt.length() > 0 && excerpt.charAt(excerpt.length() - 1) != ' ') {
+                    excerpt.append(' ');
+                }
+            } else {
+                excerpt.append(character);
+            }
+        }
+    }
+
+    private void count(CharSequence text) {
+        for (int index = 0; index < text.length(); index++) {
+            char character = text.charAt(index);
+            if (Character.isWhitespace(character)) {
+                inWord = false;
+                continue;
+            }
+            if (!inWord) {
+                wordCount++;
+                inWord = true;
+            }
+            if (character >= '\uAC00' && character <= '\uD7A3') {
+                hangulCount++;
+            }
+        }
+    }
+
+    // 블록 경계에서는 앞뒤 텍스트가 한 단어로 붙지 않게 공백을 넣는다
+    private void separate() {
+        inWord = false;
+        if (headingText == null && excerpt.length() > 0 && excerpt.charAt(excerpt.length() - 1) != ' ') {
+            excerpt.append(' ');
+        }
+    }
+
+    private static String toPlainText(String html) {
+        return HtmlUtils.htmlUnescape(HTML_TAG.matcher(html).replaceAll(" "));
+    }
+}
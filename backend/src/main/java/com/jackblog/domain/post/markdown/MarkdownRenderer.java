@@ -0,0 +1,87 @@
+package com.jackblog.domain.post.markdown;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vladsch.flexmark.ext.autolink.AutolinkExtension;
+import com.vladsch.flexmark.ext.footnotes.FootnoteExtension;
+import com.vladsch.flexmark.ext.gfm.strikethrough.StrikethroughExtension;
+import com.vladsch.flexmark.ext.tables.TablesExtension;
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.data.MutableDataSet;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Parser/HtmlRenderer 는 만든 뒤에는 상태가 없어 여러 스레드가 같이 써도 되므로 한 번만 구성한다
+@Component
+public class MarkdownRenderer {
+
+    private final Parser parser;
+    private final HtmlRenderer renderer;
+    private final ObjectMapper objectMapper;
+
+    public MarkdownRenderer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+
+        MutableDataSet options = new MutableDataSet()
+            .set(Parser.EXTENSIONS, List.of(
+                TablesExtension.create(),
+                StrikethroughExtension.create(),
+                AutolinkExtension.create(),
+                FootnoteExtension.create()
+            ))
+            // GFM 처럼 열 개수가 맞지 않는 표도 깨지지 않게 렌더링한다
+            .set(TablesExtension.COLUMN_SPANS, false)
+            .set(TablesExtension.APPEND_MISSING_COLUMNS, true)
+            .set(TablesExtension.DISCARD_EXTRA_COLUMNS, true)
+            .set(TablesExtension.HEADER_SEPARATOR_COLUMN_MATCH, true)
+            // 제목마다 id 를 붙여 #anchor 로 바로 이동할 수 있게 한다
+            .set(HtmlRenderer.GENERATE_HEADER_ID, true)
+            .set(HtmlRenderer.RENDER_HEADER_ID, true);
+
+        this.parser = Parser.builder(options).build();
+        this.renderer = HtmlRenderer.builder(options).build();
+    }
+
+    public Node parse(String markdown) {
+        return parser.parse(markdown == null ? "" : markdown);
+    }
+
+    public String render(Node document) {
+        return renderer.render(document);
+    }
+
+    public String render(String markdown) {
+        return render(parse(markdown));
+    }
+
+    // 한 번 파싱한 문서로 HTML 을 만들고, 같은 문서를 한 번 더 순회해 저장할 파생 값을 모두 뽑는다
+    public MarkdownAnalysis analyze(String markdown) {
+        Node document = parse(markdown);
+        String html = render(document);
+
+        MarkdownAnalyzer analyzer = new MarkdownAnalyzer();
+        analyzer.visit(document);
+
+        return MarkdownAnalysis.builder()
+            .html(html)
+            .excerpt(analyzer.getExcerpt())
+            .wordCount(analyzer.getWordCount())
+            .hangulCount(analyzer.getHangulCount())
+            .readingTime(analyzer.getReadingTime())
+            .firstImageUrl(analyzer.getFirstImageUrl())
+            .tableOfContents(toJson(analyzer.getHeadings()))
+            .outboundLinks(toJson(analyzer.getOutboundLinks()))
+            .build();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize markdown analysis", e);
+        }
+    }
+}
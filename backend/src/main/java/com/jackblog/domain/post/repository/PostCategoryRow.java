@@ -0,0 +1,7 @@
+package com.jackblog.domain.post.repository;
+
+public interface PostCategoryRow {
+    Long getPostId();
+
+    String getCategoryName();
+}
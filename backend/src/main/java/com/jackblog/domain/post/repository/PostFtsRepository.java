@@ -0,0 +1,104 @@
+package com.jackblog.domain.post.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class PostFtsRepository {
+
+    // trigram 토크나이저는 공백 없이 붙여 쓰는 한글도 부분 문자열로 찾을 수 있다
+    private static final String CREATE_TABLE_SQL = """
+        CREATE VIRTUAL TABLE IF NOT EXISTS post_fts USING fts5(
+            title, excerpt, content, categories,
+            tokenize = 'trigram'
+        )
+        """;
+
+    private static final String REBUILD_SQL = """
+        INSERT INTO post_fts(rowid, title, excerpt, content, categories)
+        SELECT p.id,
+               p.title,
+               COALESCE(p.excerpt, ''),
+               p.content,
+               COALESCE(
+                   (SELECT group_concat(pc.category_name, ' ') FROM post_categories pc WHERE pc.post_id = p.id),
+                   COALESCE(p.category, '')
+               )
+        FROM post p
+        """;
+
+    // 제목/카테고리 일치가 본문 일치보다 높게 평가되도록 컬럼별 bm25 가중치를 준다.
+    // 순위와 페이지를 먼저 정한 뒤 그 페이지의 글에 대해서만 snippet 을 만든다
+    private static final String SEARCH_SQL = """
+        WITH ranked AS (
+            SELECT post_fts.rowid AS post_id,
+                   bm25(post_fts, 10.0, 4.0, 1.0, 6.0) AS score
+            FROM post_fts
+            INNER JOIN post p ON p.id = post_fts.rowid
+            WHERE post_fts MATCH ?
+              AND p.is_published = 1
+            ORDER BY score
+            LIMIT ? OFFSET ?
+        )
+        SELECT ranked.post_id,
+               snippet(post_fts, -1, ?, ?, '…', 16) AS snippet,
+               ranked.score
+        FROM ranked
+        INNER JOIN post_fts ON post_fts.rowid = ranked.post_id
+        WHERE post_fts MATCH ?
+        ORDER BY ranked.score
+        """;
+
+    private static final String COUNT_SQL = """
+        SELECT COUNT(*)
+        FROM post_fts
+        INNER JOIN post p ON p.id = post_fts.rowid
+        WHERE post_fts MATCH ?
+          AND p.is_published = 1
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void createTableIfNotExists() {
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+    }
+
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM post_fts", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    public void upsert(Long postId, String title, String excerpt, String content, String categories) {
+        delete(postId);
+        jdbcTemplate.update(
+            "INSERT INTO post_fts(rowid, title, excerpt, content, categories) VALUES (?, ?, ?, ?, ?)",
+            postId, title, excerpt, content, categories
+        );
+    }
+
+    public void delete(Long postId) {
+        jdbcTemplate.update("DELETE FROM post_fts WHERE rowid = ?", postId);
+    }
+
+    public int rebuild() {
+        jdbcTemplate.update("DELETE FROM post_fts");
+        return jdbcTemplate.update(REBUILD_SQL);
+    }
+
+    public List<PostSearchHit> search(String matchQuery, String highlightStart, String highlightEnd, int limit, long offset) {
+        return jdbcTemplate.query(
+            SEARCH_SQL,
+            (rs, rowNum) -> new PostSearchHit(rs.getLong("post_id"), rs.getString("snippet"), rs.getDouble("score")),
+            matchQuery, limit, offset, highlightStart, highlightEnd, matchQuery
+        );
+    }
+
+    public long countMatches(String matchQuery) {
+        Long count = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, matchQuery);
+        return count == null ? 0 : count;
+    }
+}
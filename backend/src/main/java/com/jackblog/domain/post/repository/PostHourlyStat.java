@@ -0,0 +1,15 @@
+package com.jackblog.domain.post.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PostHourlyStat {
+    private long postId;
+    // 1970-01-01T00:00 (서버 시간대) 부터 지난 시간 수
+    private long hour;
+    private long views;
+    private long likes;
+    private long reactions;
+}
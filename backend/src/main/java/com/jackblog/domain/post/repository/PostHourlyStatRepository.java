@@ -0,0 +1,73 @@
+package com.jackblog.domain.post.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// 글별 시간 단위 조회/좋아요/반응 수. 정수 키만 쓰는 WITHOUT ROWID 테이블이라 행이 작다
+@Repository
+@RequiredArgsConstructor
+public class PostHourlyStatRepository {
+
+    private static final String CREATE_TABLE_SQL = """
+        CREATE TABLE IF NOT EXISTS post_hourly_stat (
+            post_id INTEGER NOT NULL,
+            hour INTEGER NOT NULL,
+            views INTEGER NOT NULL DEFAULT 0,
+            likes INTEGER NOT NULL DEFAULT 0,
+            reactions INTEGER NOT NULL DEFAULT 0,
+            PRIMARY KEY (post_id, hour)
+        ) WITHOUT ROWID
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void createTableIfNotExists() {
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+    }
+
+    public boolean isEmpty() {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM post_hourly_stat)", Boolean.class);
+        return !Boolean.TRUE.equals(exists);
+    }
+
+    public List<PostHourlyStat> findSince(long hour) {
+        return jdbcTemplate.query(
+            "SELECT post_id, hour, views, likes, reactions FROM post_hourly_stat WHERE hour >= ?",
+            (rs, rowNum) -> new PostHourlyStat(
+                rs.getLong("post_id"),
+                rs.getLong("hour"),
+                rs.getLong("views"),
+                rs.getLong("likes"),
+                rs.getLong("reactions")
+            ),
+            hour
+        );
+    }
+
+    // 메모리의 버킷이 그 시간의 전체 값을 들고 있으므로 더하지 않고 덮어쓴다
+    public void saveAll(List<PostHourlyStat> stats) {
+        jdbcTemplate.batchUpdate(
+            "INSERT OR REPLACE INTO post_hourly_stat (post_id, hour, views, likes, reactions) VALUES (?, ?, ?, ?, ?)",
+            stats,
+            stats.size(),
+            (ps, stat) -> {
+                ps.setLong(1, stat.getPostId());
+                ps.setLong(2, stat.getHour());
+                ps.setLong(3, stat.getViews());
+                ps.setLong(4, stat.getLikes());
+                ps.setLong(5, stat.getReactions());
+            }
+        );
+    }
+
+    public int deleteBefore(long hour) {
+        return jdbcTemplate.update("DELETE FROM post_hourly_stat WHERE hour < ?", hour);
+    }
+
+    public int deleteByPostId(long postId) {
+        return jdbcTemplate.update("DELETE FROM post_hourly_stat WHERE post_id = ?", postId);
+    }
+}
@@ -1,95 +1,240 @@
 package com.jackblog.domain.post.repository;
 
 import com.jackblog.domain.post.entity.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
 
+    String SUMMARY_COLUMNS = """
+        new com.jackblog.domain.post.repository.PostSummary(
+            p.id, p.slug, p.title, p.excerpt, p.thumbnail, p.category, p.readingTime, p.viewCount,
+            p.commentCount, p.likeCount, p.isPublished, p.createdAt, p.updatedAt, p.publishedAt
+        )""";
+
     Optional<Post> findBySlug(String slug);
 
     Optional<Post> findBySlugAndIsPublishedTrue(String slug);
 
     boolean existsBySlug(String slug);
 
-    Page<Post> findByIsPublishedTrueOrderByPublishedAtDesc(Pageable pageable);
+    @Query("SELECT p.viewCount FROM Post p WHERE p.id = :postId")
+    Optional<Integer> findViewCountById(@Param("postId") Long postId);
+
+    @Query("SELECT p.id FROM Post p WHERE p.slug = :slug")
+    Optional<Long> findIdBySlug(@Param("slug") String slug);
+
+    @Query(
+        value = "SELECT " + SUMMARY_COLUMNS + " FROM Post p WHERE p.isPublished = true ORDER BY p.publishedAt DESC",
+        countQuery = "SELECT COUNT(p) FROM Post p WHERE p.isPublished = true"
+    )
+    Page<PostSummary> findPublishedSummaries(Pageable pageable);
+
+    @Query(
+        value = "SELECT " + SUMMARY_COLUMNS + " FROM Post p"
+            + " WHERE p.isPublished = true AND (p.category = :category OR :category MEMBER OF p.categories)"
+            + " ORDER BY p.publishedAt DESC",
+        countQuery = "SELECT COUNT(p) FROM Post p"
+            + " WHERE p.isPublished = true AND (p.category = :category OR :category MEMBER OF p.categories)"
+    )
+    Page<PostSummary> findPublishedSummariesByCategory(@Param("category") String category, Pageable pageable);
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Post p WHERE p.isPublished = true AND p.slug <> 'guestbook' ORDER BY p.viewCount DESC")
+    List<PostSummary> findPopularSummaries(Pageable pageable);
+
+    @Query(
+        value = "SELECT " + SUMMARY_COLUMNS + " FROM Post p ORDER BY p.createdAt DESC",
+        countQuery = "SELECT COUNT(p) FROM Post p"
+    )
+    Page<PostSummary> findAllSummaries(Pageable pageable);
+
+    // 발행 시각이 도입되기 전에 발행된 글은 published_at 이 비어 있어 keyset 조건에 걸리지 않으므로 작성 시각으로 채운다.
+    // JPQL bulk UPDATE 는 @PreUpdate 를 거치지 않아 updated_at 은 그대로다
+    @Modifying
+    @Query("UPDATE Post p SET p.publishedAt = p.createdAt"
+        + " WHERE p.isPublished = true AND p.publishedAt IS NULL AND p.createdAt IS NOT NULL")
+    int backfillPublishedAt();
+
+    // keyset 페이지네이션: OFFSET 없이 (published_at, id) 인덱스에서 커서 다음 위치부터 읽는다
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Post p WHERE p.isPublished = true"
+        + " ORDER BY p.publishedAt DESC, p.id DESC")
+    List<PostSummary> findLatestPublishedSummaries(Pageable pageable);
 
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Post p WHERE p.isPublished = true"
+        + " AND (p.publishedAt < :publishedAt OR (p.publishedAt = :publishedAt AND p.id < :id))"
+        + " ORDER BY p.publishedAt DESC, p.id DESC")
+    List<PostSummary> findPublishedSummariesBefore(
+        @Param("publishedAt") LocalDateTime publishedAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Post p WHERE p.isPublished = true"
+        + " AND (p.category = :category OR :category MEMBER OF p.categories)"
+        + " ORDER BY p.publishedAt DESC, p.id DESC")
+    List<PostSummary> findLatestPublishedSummariesByCategory(@Param("category") String category, Pageable pageable);
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Post p WHERE p.isPublished = true"
+        + " AND (p.category = :category OR :category MEMBER OF p.categories)"
+        + " AND (p.publishedAt < :publishedAt OR (p.publishedAt = :publishedAt AND p.id < :id))"
+        + " ORDER BY p.publishedAt DESC, p.id DESC")
+    List<PostSummary> findPublishedSummariesByCategoryBefore(
+        @Param("category") String category,
+        @Param("publishedAt") LocalDateTime publishedAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Post p ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummary> findLatestSummaries(Pageable pageable);
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Post p"
+        + " WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)"
+        + " ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummary> findSummariesCreatedBefore(
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    @Query("SELECT COUNT(p) FROM Post p"
+        + " WHERE p.isPublished = true AND (p.category = :category OR :category MEMBER OF p.categories)")
+    long countPublishedByCategory(@Param("category") String category);
+
+    // 한 페이지에 나온 글들의 카테고리를 한 번의 쿼리로 읽는다
+    @Query("SELECT p.id AS postId, c AS categoryName FROM Post p JOIN p.categories c WHERE p.id IN :postIds")
+    List<PostCategoryRow> findCategoriesByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // Escape LIKE wildcards so user input is treated literally.
+    // 검색 엔진을 쓸 수 없을 때의 대체 검색이라 제목 일치를 앞에 두는 정도로만 순위를 매긴다
     @Query(
         value = """
-            SELECT DISTINCT p.*
+            SELECT p.*
             FROM post p
-            LEFT JOIN post_categories pc ON pc.post_id = p.id
             WHERE p.is_published = 1
-              AND (p.category = :category OR pc.category_name = :category)
-            ORDER BY p.published_at DESC
+              AND (
+                LOWER(p.title) LIKE '%' || LOWER(:query) || '%' ESCAPE '\\'
+                OR LOWER(p.content) LIKE '%' || LOWER(:query) || '%' ESCAPE '\\'
+                OR LOWER(COALESCE(p.excerpt, '')) LIKE '%' || LOWER(:query) || '%' ESCAPE '\\'
+                OR LOWER(COALESCE(p.category, '')) LIKE '%' || LOWER(:query) || '%' ESCAPE '\\'
+                OR EXISTS (
+                  SELECT 1
+                  FROM post_categories pc
+                  WHERE pc.post_id = p.id
+                    AND LOWER(pc.category_name) LIKE '%' || LOWER(:query) || '%' ESCAPE '\\'
+                )
+              )
+            ORDER BY CASE WHEN LOWER(p.title) LIKE '%' || LOWER(:query) || '%' ESCAPE '\\' THEN 0 ELSE 1 END,
+                     p.published_at DESC
             """,
         countQuery = """
-            SELECT COUNT(DISTINCT p.id)
+            SELECT COUNT(*)
             FROM post p
-            LEFT JOIN post_categories pc ON pc.post_id = p.id
             WHERE p.is_published = 1
-              AND (p.category = :category OR pc.category_name = :category)
+              AND (
+                LOWER(p.title) LIKE '%' || LOWER(:query) || '%' ESCAPE '\\'
+                OR LOWER(p.content) LIKE '%' || LOWER(:query) || '%' ESCAPE '\\'
+                OR LOWER(COALESCE(p.excerpt, '')) LIKE '%' || LOWER(:query) || '%' ESCAPE '\\'
+                OR LOWER(COALESCE(p.category, '')) LIKE '%' || LOWER(:query) || '%' ESCAPE '\\'
+                OR EXISTS (
+                  SELECT 1
+                  FROM post_categories pc
+                  WHERE pc.post_id = p.id
+                    AND LOWER(pc.category_name) LIKE '%' || LOWER(:query) || '%' ESCAPE '\\'
+                )
+              )
             """,
         nativeQuery = true
     )
-    Page<Post> findPublishedByCategory(@Param("category") String category, Pageable pageable);
+    Page<Post> searchPosts(@Param("query") String query, Pageable pageable);
+
+    long countByIsPublishedTrue();
+
+    // 저장 시점 분석이 도입되기 전에 만들어진 글처럼 파생 값이 비어 있는 글.
+    // 읽기 전용으로 읽어 값을 채워도 dirty checking 으로 UPDATE(@PreUpdate 의 updated_at 갱신)가 나가지 않게 한다
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+        SELECT p FROM Post p
+        WHERE p.wordCount IS NULL
+           OR p.excerpt IS NULL
+           OR (p.thumbnail IS NULL AND p.firstImageUrl IS NOT NULL)
+        ORDER BY p.id
+        """)
+    List<Post> findPostsMissingDerivedFields(Pageable pageable);
 
+    // 파생 컬럼만 직접 쓴다. 엔티티를 거치지 않으므로 updated_at 이 바뀌지 않아 sitemap 의 lastModified 가 유지된다
+    @Modifying
     @Query(
         value = """
-            SELECT DISTINCT category_name
-            FROM (
-                SELECT p.category AS category_name
-                FROM post p
-                WHERE p.is_published = 1
-                  AND p.category IS NOT NULL
-                  AND TRIM(p.category) <> ''
-                UNION
-                SELECT pc.category_name AS category_name
-                FROM post_categories pc
-                INNER JOIN post p ON p.id = pc.post_id
-                WHERE p.is_published = 1
-                  AND pc.category_name IS NOT NULL
-                  AND TRIM(pc.category_name) <> ''
-            )
-            ORDER BY category_name
+            UPDATE post
+            SET content_html = :#{#post.contentHtml},
+                excerpt = :#{#post.excerpt},
+                thumbnail = :#{#post.thumbnail},
+                reading_time = :#{#post.readingTime},
+                word_count = :#{#post.wordCount},
+                hangul_count = :#{#post.hangulCount},
+                first_image_url = :#{#post.firstImageUrl},
+                table_of_contents = :#{#post.tableOfContents},
+                outbound_links = :#{#post.outboundLinks}
+            WHERE id = :#{#post.id}
             """,
         nativeQuery = true
     )
-    List<String> findAllCategories();
+    int updateDerivedFields(@Param("post") Post post);
 
-    // Escape LIKE wildcards so user input is treated literally.
+    List<Post> findByIsPublishedTrue();
+
+    @Modifying
     @Query(
-        value = """
-            SELECT DISTINCT p.*
-            FROM post p
-            LEFT JOIN post_categories pc ON pc.post_id = p.id
-            WHERE p.is_published = 1
-              AND (
-                LOWER(p.title) LIKE '%' || LOWER(:query) || '%' ESCAPE '\\'
-                OR LOWER(p.content) LIKE '%' || LOWER(:query) || '%' ESCAPE '\\'
-                OR LOWER(COALESCE(p.excerpt, '')) LIKE '%' || LOWER(:query) || '%' ESCAPE '\\'
-                OR LOWER(COALESCE(p.category, '')) LIKE '%' || LOWER(:query) || '%' ESCAPE '\\'
-                OR LOWER(COALESCE(pc.category_name, '')) LIKE '%' || LOWER(:query) || '%' ESCAPE '\\'
-              )
-            ORDER BY p.published_at DESC
-            """,
+        value = "UPDATE post SET view_count = COALESCE(view_count, 0) + :delta WHERE id = :postId",
         nativeQuery = true
     )
-    List<Post> searchPosts(@Param("query") String query);
+    int incrementViewCount(@Param("postId") Long postId, @Param("delta") long delta);
 
-    @Query("SELECT p FROM Post p WHERE p.isPublished = true AND p.slug <> 'guestbook' ORDER BY p.viewCount DESC")
-    List<Post> findPopularPosts(Pageable pageable);
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :postId")
+    int adjustCommentCount(@Param("postId") Long postId, @Param("delta") long delta);
 
-    @Query("SELECT p FROM Post p ORDER BY p.createdAt DESC")
-    Page<Post> findAllOrderByCreatedAtDesc(Pageable pageable);
+    @Modifying
+    @Query("UPDATE Post p SET p.likeCount = p.likeCount + :delta WHERE p.id = :postId")
+    int adjustLikeCount(@Param("postId") Long postId, @Param("delta") long delta);
 
-    long countByIsPublishedTrue();
+    @Modifying
+    @Query(
+        value = """
+            UPDATE post
+            SET comment_count = (
+                    SELECT COUNT(*) FROM comment c
+                    WHERE c.post_id = post.id AND COALESCE(c.is_deleted, 0) = 0
+                ),
+                like_count = (
+                    SELECT COUNT(*) FROM post_like l
+                    WHERE l.post_id = post.id
+                )
+            WHERE COALESCE(comment_count, -1) <> (
+                    SELECT COUNT(*) FROM comment c
+                    WHERE c.post_id = post.id AND COALESCE(c.is_deleted, 0) = 0
+                )
+                OR COALESCE(like_count, -1) <> (
+                    SELECT COUNT(*) FROM post_like l
+                    WHERE l.post_id = post.id
+                )
+            """,
+        nativeQuery = true
+    )
+    int reconcileCounters();
 }
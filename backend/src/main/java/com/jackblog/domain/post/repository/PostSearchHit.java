@@ -0,0 +1,12 @@
+package com.jackblog.domain.post.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PostSearchHit {
+    private Long postId;
+    private String snippet;
+    private double score;
+}
@@ -0,0 +1,26 @@
+package com.jackblog.domain.post.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 목록 응답에 필요한 컬럼만 담는다. content/content_html 같은 본문 컬럼은 읽지 않는다
+@Getter
+@AllArgsConstructor
+public class PostSummary {
+    private Long id;
+    private String slug;
+    private String title;
+    private String excerpt;
+    private String thumbnail;
+    private String category;
+    private Integer readingTime;
+    private Integer viewCount;
+    private Long commentCount;
+    private Long likeCount;
+    private Boolean isPublished;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime publishedAt;
+}
@@ -0,0 +1,134 @@
+package com.jackblog.domain.post.search;
+
+import com.jackblog.domain.post.entity.Post;
+import com.jackblog.domain.post.repository.PostFtsRepository;
+import com.jackblog.domain.post.repository.PostRepository;
+import com.jackblog.domain.post.repository.PostSearchHit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "post.search.engine", havingValue = "fts", matchIfMissing = true)
+@RequiredArgsConstructor
+public class FtsPostSearchEngine implements PostSearchEngine {
+
+    private static final int TRIGRAM_LENGTH = 3;
+    // 본문에 있는 HTML 을 이스케이프한 뒤 강조 태그로 바꾸기 위해 사용자 입력에 나오지 않는 문자를 표식으로 쓴다
+    private static final String HIGHLIGHT_START = "\uE000";
+    private static final String HIGHLIGHT_END = "\uE001";
+
+    private final PostFtsRepository postFtsRepository;
+    private final PostRepository postRepository;
+
+    private volatile boolean available;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        try {
+            postFtsRepository.createTableIfNotExists();
+            if (postFtsRepository.count() != postRepository.count()) {
+                int indexed = postFtsRepository.rebuild();
+                log.info("Rebuilt post full-text index with {} posts", indexed);
+            }
+            available = true;
+        } catch (Exception e) {
+            log.warn("SQLite FTS5 is unavailable, falling back to LIKE search", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int rebuild() {
+        postFtsRepository.createTableIfNotExists();
+        int indexed = postFtsRepository.rebuild();
+        available = true;
+        return indexed;
+    }
+
+    @Override
+    public void index(Post post) {
+        if (!available) {
+            return;
+        }
+
+        postFtsRepository.upsert(
+            post.getId(),
+            post.getTitle(),
+            post.getExcerpt() == null ? "" : post.getExcerpt(),
+            post.getContent(),
+            String.join(" ", post.getCategories())
+        );
+    }
+
+    @Override
+    public void remove(Long postId) {
+        if (available) {
+            postFtsRepository.delete(postId);
+        }
+    }
+
+    // trigram 인덱스는 3글자 미만 검색어를 찾지 못하므로 그런 경우 LIKE 검색으로 넘긴다
+    @Override
+    public Optional<Page<PostSearchHit>> search(String normalizedQuery, Pageable pageable) {
+        if (!available) {
+            return Optional.empty();
+        }
+
+        List<String> terms = Arrays.stream(normalizedQuery.split(" "))
+            .filter(StringUtils::hasText)
+            .toList();
+        boolean indexable = !terms.isEmpty() && terms.stream()
+            .allMatch(term -> term.codePointCount(0, term.length()) >= TRIGRAM_LENGTH);
+        if (!indexable) {
+            return Optional.empty();
+        }
+
+        String matchQuery = toMatchQuery(terms);
+        long total = postFtsRepository.countMatches(matchQuery);
+        if (total <= pageable.getOffset()) {
+            return Optional.of(new PageImpl<>(List.of(), pageable, total));
+        }
+
+        List<PostSearchHit> hits = postFtsRepository.search(
+                matchQuery, HIGHLIGHT_START, HIGHLIGHT_END, pageable.getPageSize(), pageable.getOffset()
+            )
+            .stream()
+            .map(hit -> new PostSearchHit(hit.getPostId(), toHighlightHtml(hit.getSnippet()), hit.getScore()))
+            .toList();
+        return Optional.of(new PageImpl<>(hits, pageable, total));
+    }
+
+    // 각 검색어를 FTS5 문자열 리터럴로 감싸 연산자(AND, NEAR, * 등)로 해석되지 않게 한다
+    private String toMatchQuery(List<String> terms) {
+        return terms.stream()
+            .map(term -> "\"" + term.replace("\"", "\"\"") + "\"")
+            .collect(Collectors.joining(" "));
+    }
+
+    private String toHighlightHtml(String snippet) {
+        if (snippet == null) {
+            return null;
+        }
+
+        return HtmlUtils.htmlEscape(snippet)
+            .replace(HIGHLIGHT_START, "<mark>")
+            .replace(HIGHLIGHT_END, "</mark>");
+    }
+}
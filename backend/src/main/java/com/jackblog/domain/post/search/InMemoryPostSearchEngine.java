@@ -0,0 +1,398 @@
+package com.jackblog.domain.post.search;
+
+import com.jackblog.domain.post.entity.Post;
+import com.jackblog.domain.post.repository.PostRepository;
+import com.jackblog.domain.post.repository.PostSearchHit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "post.search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryPostSearchEngine implements PostSearchEngine {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int BODY_WEIGHT = 1;
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+    private static final int SNIPPET_BEFORE = 40;
+    private static final int SNIPPET_LENGTH = 160;
+
+    private final PostRepository postRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private IndexState state = new IndexState();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void initialize() {
+        int indexed = rebuildFrom(postRepository.findByIsPublishedTrue());
+        log.info("Built in-memory post search index with {} posts", indexed);
+    }
+
+    @Override
+    public int rebuild() {
+        return rebuildFrom(postRepository.findByIsPublishedTrue());
+    }
+
+    @Override
+    public void index(Post post) {
+        IndexedDocument document = Boolean.TRUE.equals(post.getIsPublished()) ? IndexedDocument.from(post) : null;
+        Long postId = post.getId();
+
+        // 롤백된 변경이 인덱스에 남지 않도록 커밋 이후에 반영한다
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                state.remove(postId);
+                if (document != null) {
+                    state.add(document);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void remove(Long postId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                state.remove(postId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // 마지막 검색어는 접두어로도 일치시켜 입력 중인 검색어에도 결과가 나오게 한다
+    @Override
+    public Optional<Page<PostSearchHit>> search(String normalizedQuery, Pageable pageable) {
+        List<String> queryTokens = new ArrayList<>(new LinkedHashSet<>(SearchTokenizer.tokenize(normalizedQuery)));
+        if (queryTokens.isEmpty()) {
+            return Optional.of(Page.empty(pageable));
+        }
+
+        List<String> words = Arrays.stream(normalizedQuery.toLowerCase(Locale.ROOT).split(" "))
+            .filter(StringUtils::hasText)
+            .toList();
+
+        lock.readLock().lock();
+        try {
+            return Optional.of(state.search(queryTokens, words, pageable));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int rebuildFrom(List<Post> posts) {
+        IndexState rebuilt = new IndexState();
+        for (Post post : posts) {
+            rebuilt.add(IndexedDocument.from(post));
+        }
+
+        lock.writeLock().lock();
+        try {
+            state = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return posts.size();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class IndexState {
+        private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+        private final Map<Long, Integer> docIdsByPostId = new HashMap<>();
+        private final Map<Integer, IndexedDocument> documents = new HashMap<>();
+        private int nextDocId;
+        private long totalLength;
+
+        private void add(IndexedDocument document) {
+            int docId = nextDocId++;
+            docIdsByPostId.put(document.postId, docId);
+            documents.put(docId, document);
+            totalLength += document.length;
+            document.termFrequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, key -> new PostingList()).put(docId, frequency)
+            );
+        }
+
+        private void remove(Long postId) {
+            Integer docId = docIdsByPostId.remove(postId);
+            if (docId == null) {
+                return;
+            }
+
+            IndexedDocument document = documents.remove(docId);
+            totalLength -= document.length;
+            for (String term : document.termFrequencies.keySet()) {
+                PostingList list = postings.get(term);
+                list.remove(docId);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+
+        private Page<PostSearchHit> search(List<String> queryTokens, List<String> words, Pageable pageable) {
+            if (documents.isEmpty()) {
+                return Page.empty(pageable);
+            }
+
+            // 검색어 토큰마다 일치하는 posting 목록을 모은다 (마지막 토큰은 접두어 확장)
+            List<List<PostingList>> matches = new ArrayList<>();
+            for (int index = 0; index < queryTokens.size(); index++) {
+                String token = queryTokens.get(index);
+                boolean prefix = index == queryTokens.size() - 1;
+                List<PostingList> lists = prefix ? prefixMatches(token) : exactMatch(token);
+                if (lists.isEmpty()) {
+                    return Page.empty(pageable);
+                }
+                matches.add(lists);
+            }
+
+            // 가장 드문 토큰의 문서부터 시작해 나머지 토큰을 모두 포함하는 문서만 남긴다 (AND).
+            // 접두어로 늘어난 목록들은 문서 번호 순으로 정렬돼 있어 병합하며 중복만 건너뛰므로 후보를 따로 모으지 않는다.
+            // 요청한 페이지 끝까지의 상위 문서만 힙에 남겨 일치하는 글이 많아도 메모리가 늘지 않게 한다
+            matches.sort(Comparator.comparingInt(IndexState::documentFrequency));
+            long keep = pageable.getOffset() + pageable.getPageSize();
+            PriorityQueue<ScoredDocument> top = new PriorityQueue<>(Comparator.comparingDouble(ScoredDocument::score));
+            double averageLength = Math.max(1.0, (double) totalLength / documents.size());
+            long total = 0;
+
+            PriorityQueue<PostingCursor> cursors = new PriorityQueue<>(Comparator.comparingInt(PostingCursor::doc));
+            for (PostingList list : matches.get(0)) {
+                if (!list.isEmpty()) {
+                    cursors.add(new PostingCursor(list));
+                }
+            }
+            int previousDocId = -1;
+            while (!cursors.isEmpty()) {
+                PostingCursor cursor = cursors.poll();
+                int docId = cursor.doc();
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+                if (docId == previousDocId) {
+                    continue;
+                }
+                previousDocId = docId;
+
+                double score = score(docId, matches, averageLength);
+                if (score == 0) {
+                    continue;
+                }
+                total++;
+                if (top.size() < keep) {
+                    top.add(new ScoredDocument(docId, score));
+                } else if (top.peek().score() < score) {
+                    top.poll();
+                    top.add(new ScoredDocument(docId, score));
+                }
+            }
+
+            List<ScoredDocument> ranked = new ArrayList<>(top);
+            ranked.sort(Comparator.comparingDouble(ScoredDocument::score).reversed());
+            List<PostSearchHit> hits = ranked.stream()
+                .skip(pageable.getOffset())
+                .map(scored -> {
+                    IndexedDocument document = documents.get(scored.docId());
+                    return new PostSearchHit(document.postId, document.snippet(words), scored.score());
+                })
+                .toList();
+            return new PageImpl<>(hits, pageable, total);
+        }
+
+        // 모든 검색어 토큰이 일치해야 점수를 주고, 하나라도 빠지면 0 을 돌려준다
+        private double score(int docId, List<List<PostingList>> matches, double averageLength) {
+            int length = documents.get(docId).length;
+            double score = 0;
+            for (List<PostingList> lists : matches) {
+                double termScore = 0;
+                for (PostingList list : lists) {
+                    int frequency = list.frequencyOf(docId);
+                    if (frequency > 0) {
+                        termScore += idf(list.size()) * tfWeight(frequency, length, averageLength);
+                    }
+                }
+                if (termScore == 0) {
+                    return 0;
+                }
+                score += termScore;
+            }
+            return score;
+        }
+
+        private List<PostingList> exactMatch(String token) {
+            PostingList list = postings.get(token);
+            return list == null ? List.of() : List.of(list);
+        }
+
+        private List<PostingList> prefixMatches(String prefix) {
+            return new ArrayList<>(postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values());
+        }
+
+        private static int documentFrequency(List<PostingList> lists) {
+            return lists.stream().mapToInt(PostingList::size).sum();
+        }
+
+        private double idf(int documentFrequency) {
+            int documentCount = documents.size();
+            return Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        }
+
+        private static double tfWeight(int frequency, int length, double averageLength) {
+            return frequency * (BM25_K1 + 1)
+                / (frequency + BM25_K1 * (1 - BM25_B + BM25_B * length / averageLength));
+        }
+    }
+
+    private record ScoredDocument(int docId, double score) {
+    }
+
+    // 정렬된 posting 목록을 앞에서부터 읽는 위치
+    private static final class PostingCursor {
+        private final PostingList list;
+        private int index;
+
+        private PostingCursor(PostingList list) {
+            this.list = list;
+        }
+
+        private int doc() {
+            return list.docAt(index);
+        }
+
+        private boolean advance() {
+            return ++index < list.size();
+        }
+    }
+
+    private static final class IndexedDocument {
+        private final long postId;
+        private final String text;
+        private final String lowerText;
+        private final Map<String, Integer> termFrequencies;
+        private final int length;
+
+        private IndexedDocument(long postId, String text, Map<String, Integer> termFrequencies) {
+            this.postId = postId;
+            this.text = text;
+            this.lowerText = text.toLowerCase(Locale.ROOT);
+            this.termFrequencies = termFrequencies;
+            this.length = termFrequencies.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        private static IndexedDocument from(Post post) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            addTokens(frequencies, post.getTitle(), TITLE_WEIGHT);
+            addTokens(frequencies, String.join(" ", post.getCategories()), CATEGORY_WEIGHT);
+            addTokens(frequencies, post.getExcerpt(), BODY_WEIGHT);
+            addTokens(frequencies, post.getContent(), BODY_WEIGHT);
+
+            String text = (post.getTitle() == null ? "" : post.getTitle())
+                + "\n" + (post.getContent() == null ? "" : post.getContent());
+            return new IndexedDocument(post.getId(), text, frequencies);
+        }
+
+        private static void addTokens(Map<String, Integer> frequencies, String text, int weight) {
+            for (String token : SearchTokenizer.tokenize(text)) {
+                frequencies.merge(token, weight, Integer::sum);
+            }
+        }
+
+        private String snippet(List<String> words) {
+            // 소문자 변환으로 길이가 바뀌는 문자가 있으면 위치가 어긋나므로 소문자 본문으로 대신 보여준다
+            String source = text.length() == lowerText.length() ? text : lowerText;
+
+            int firstMatch = -1;
+            for (String word : words) {
+                int position = lowerText.indexOf(word);
+                if (position >= 0 && (firstMatch < 0 || position < firstMatch)) {
+                    firstMatch = position;
+                }
+            }
+            if (firstMatch < 0) {
+                return null;
+            }
+
+            int start = Math.max(0, firstMatch - SNIPPET_BEFORE);
+            int end = Math.min(source.length(), start + SNIPPET_LENGTH);
+            String lowerWindow = lowerText.substring(start, end);
+
+            StringBuilder builder = new StringBuilder();
+            if (start > 0) {
+                builder.append('…');
+            }
+            int cursor = 0;
+            while (cursor < lowerWindow.length()) {
+                int nextMatch = -1;
+                String matchedWord = null;
+                for (String word : words) {
+                    int position = lowerWindow.indexOf(word, cursor);
+                    if (position >= 0 && (nextMatch < 0 || position < nextMatch)) {
+                        nextMatch = position;
+                        matchedWord = word;
+                    }
+                }
+                if (nextMatch < 0) {
+                    builder.append(HtmlUtils.htmlEscape(source.substring(start + cursor, end)));
+                    break;
+                }
+                builder.append(HtmlUtils.htmlEscape(source.substring(start + cursor, start + nextMatch)))
+                    .append("<mark>")
+                    .append(HtmlUtils.htmlEscape(source.substring(start + nextMatch, start + nextMatch + matchedWord.length())))
+                    .append("</mark>");
+                cursor = nextMatch + matchedWord.length();
+            }
+            if (end < source.length()) {
+                builder.append('…');
+            }
+            return builder.toString();
+        }
+    }
+}
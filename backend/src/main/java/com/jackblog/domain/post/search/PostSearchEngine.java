@@ -0,0 +1,23 @@
+package com.jackblog.domain.post.search;
+
+import com.jackblog.domain.post.entity.Post;
+import com.jackblog.domain.post.repository.PostSearchHit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Optional;
+
+// post.search.engine 설정(fts | memory)에 따라 구현체 하나만 등록된다
+public interface PostSearchEngine {
+
+    // 글 저장 트랜잭션 안에서 호출되며, 공개되지 않은 글은 검색 대상에서 빠진다
+    void index(Post post);
+
+    void remove(Long postId);
+
+    int rebuild();
+
+    // 관련도 순으로 요청한 페이지만 돌려주며, 강조 구간도 그 페이지의 글에 대해서만 만든다.
+    // 엔진이 처리할 수 없는 검색어면 빈 Optional 을 돌려 LIKE 검색으로 넘긴다
+    Optional<Page<PostSearchHit>> search(String normalizedQuery, Pageable pageable);
+}
@@ -0,0 +1,276 @@
+package com.jackblog.domain.post.search;
+
+import com.jackblog.common.exception.BadRequestException;
+import com.jackblog.domain.post.dto.PostSuggestionResponse;
+import com.jackblog.domain.post.entity.Post;
+import com.jackblog.domain.post.event.PostChangedEvent;
+import com.jackblog.domain.post.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostSuggestionIndex {
+
+    private static final int MAX_SUGGESTIONS = 10;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String GUESTBOOK_SLUG = "guestbook";
+
+    private final PostRepository postRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private IndexState state = new IndexState();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void initialize() {
+        IndexState rebuilt = new IndexState();
+        List<Post> posts = postRepository.findByIsPublishedTrue();
+        for (Post post : posts) {
+            IndexedPost indexed = IndexedPost.from(post);
+            if (indexed != null) {
+                rebuilt.put(indexed);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            state = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Built post suggestion index with {} posts", posts.size());
+    }
+
+    // 글 저장 트랜잭션 안에서 값을 읽어 두고, 커밋된 뒤에만 trie 에 반영한다
+    public void index(Post post) {
+        Long postId = post.getId();
+        IndexedPost indexed = Boolean.TRUE.equals(post.getIsPublished()) ? IndexedPost.from(post) : null;
+        afterCommit(() -> write(current -> {
+            current.remove(postId);
+            if (indexed != null) {
+                current.put(indexed);
+            }
+        }));
+    }
+
+    public void remove(Long postId) {
+        afterCommit(() -> write(current -> current.remove(postId)));
+    }
+
+    public List<PostSuggestionResponse> suggest(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new BadRequestException("Suggestion limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            return state.trie.complete(key, limit)
+                .stream()
+                .map(suggestion -> PostSuggestionResponse.builder()
+                    .type(suggestion.getType().name())
+                    .text(suggestion.getText())
+                    .slug(suggestion.getSlug())
+                    .build())
+                .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 조회수 반영 주기마다 바뀐 글의 가중치만 갱신한다
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getType() != PostChangedEvent.Type.VIEWS || event.isAllPosts()) {
+            return;
+        }
+
+        postRepository.findViewCountById(event.getPostId()).ifPresent(viewCount ->
+            write(current -> current.updateWeight(event.getPostId(), viewCount))
+        );
+    }
+
+    private void write(Consumer<IndexState> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(state);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        return WHITESPACE.matcher(normalized.trim()).replaceAll(" ");
+    }
+
+    private static final class IndexState {
+        private final SuggestionTrie trie = new SuggestionTrie(MAX_SUGGESTIONS);
+        private final Map<Long, IndexedPost> posts = new HashMap<>();
+        private final Map<String, CategoryEntry> categories = new HashMap<>();
+
+        private void put(IndexedPost post) {
+            posts.put(post.postId, post);
+            for (String key : post.keys) {
+                trie.add(key, post.suggestion);
+            }
+
+            // 카테고리 가중치는 속한 글 조회수의 합이다
+            post.categories.forEach((categoryKey, name) -> {
+                CategoryEntry entry = categories.computeIfAbsent(categoryKey, key ->
+                    new CategoryEntry(new Suggestion(Suggestion.Type.CATEGORY, name, null, 0))
+                );
+                boolean created = entry.postIds.isEmpty();
+                entry.postIds.add(post.postId);
+                entry.suggestion.addWeight(post.suggestion.getWeight());
+                if (created) {
+                    trie.add(categoryKey, entry.suggestion);
+                } else {
+                    trie.reweigh(categoryKey);
+                }
+            });
+        }
+
+        private void remove(Long postId) {
+            IndexedPost post = posts.remove(postId);
+            if (post == null) {
+                return;
+            }
+
+            for (String key : post.keys) {
+                trie.remove(key, post.suggestion);
+            }
+            for (String categoryKey : post.categories.keySet()) {
+                CategoryEntry entry = categories.get(categoryKey);
+                entry.postIds.remove(postId);
+                entry.suggestion.addWeight(-post.suggestion.getWeight());
+                if (entry.postIds.isEmpty()) {
+                    categories.remove(categoryKey);
+                    trie.remove(categoryKey, entry.suggestion);
+                } else {
+                    trie.reweigh(categoryKey);
+                }
+            }
+        }
+
+        private void updateWeight(Long postId, long viewCount) {
+            IndexedPost post = posts.get(postId);
+            if (post == null) {
+                return;
+            }
+
+            long delta = viewCount - post.suggestion.getWeight();
+            if (delta == 0) {
+                return;
+            }
+
+            post.suggestion.addWeight(delta);
+            for (String key : post.keys) {
+                trie.reweigh(key);
+            }
+            for (String categoryKey : post.categories.keySet()) {
+                categories.get(categoryKey).suggestion.addWeight(delta);
+                trie.reweigh(categoryKey);
+            }
+        }
+    }
+
+    private static final class IndexedPost {
+        private final Long postId;
+        private final Suggestion suggestion;
+        private final Set<String> keys;
+        // 정규화한 카테고리 키 -> 화면에 보여줄 이름
+        private final Map<String, String> categories;
+
+        private IndexedPost(Long postId, Suggestion suggestion, Set<String> keys, Map<String, String> categories) {
+            this.postId = postId;
+            this.suggestion = suggestion;
+            this.keys = keys;
+            this.categories = categories;
+        }
+
+        // 제목은 단어마다 시작 위치를 키로 넣어 제목 중간 단어로도 찾을 수 있게 한다
+        private static IndexedPost from(Post post) {
+            if (GUESTBOOK_SLUG.equals(post.getSlug())) {
+                return null;
+            }
+
+            Set<String> keys = new LinkedHashSet<>();
+            String title = normalize(post.getTitle());
+            int start = 0;
+            while (start >= 0) {
+                keys.add(title.substring(start));
+                int space = title.indexOf(' ', start);
+                start = space < 0 ? -1 : space + 1;
+            }
+            keys.add(normalize(post.getSlug()));
+            keys.remove("");
+
+            Map<String, String> categories = new HashMap<>();
+            for (String category : post.getCategories()) {
+                if (StringUtils.hasText(category)) {
+                    categories.putIfAbsent(normalize(category), category.trim());
+                }
+            }
+
+            long viewCount = post.getViewCount() == null ? 0 : post.getViewCount();
+            Suggestion suggestion = new Suggestion(Suggestion.Type.POST, post.getTitle(), post.getSlug(), viewCount);
+            return new IndexedPost(post.getId(), suggestion, keys, categories);
+        }
+    }
+
+    private static final class CategoryEntry {
+        private final Suggestion suggestion;
+        private final Set<Long> postIds = new HashSet<>();
+
+        private CategoryEntry(Suggestion suggestion) {
+            this.suggestion = suggestion;
+        }
+    }
+}
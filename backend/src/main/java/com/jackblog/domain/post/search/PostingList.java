@@ -0,0 +1,60 @@
+package com.jackblog.domain.post.search;
+
+import java.util.Arrays;
+
+// 문서 번호 오름차순으로 정렬된 (문서, 빈도) 쌍을 박싱 없이 int 배열 두 개에 담는다
+final class PostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] docs = new int[INITIAL_CAPACITY];
+    private int[] frequencies = new int[INITIAL_CAPACITY];
+    private int size;
+
+    void put(int doc, int frequency) {
+        int index = Arrays.binarySearch(docs, 0, size, doc);
+        if (index >= 0) {
+            frequencies[index] = frequency;
+            return;
+        }
+
+        int insertAt = -index - 1;
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+            frequencies = Arrays.copyOf(frequencies, size * 2);
+        }
+        System.arraycopy(docs, insertAt, docs, insertAt + 1, size - insertAt);
+        System.arraycopy(frequencies, insertAt, frequencies, insertAt + 1, size - insertAt);
+        docs[insertAt] = doc;
+        frequencies[insertAt] = frequency;
+        size++;
+    }
+
+    void remove(int doc) {
+        int index = Arrays.binarySearch(docs, 0, size, doc);
+        if (index < 0) {
+            return;
+        }
+
+        System.arraycopy(docs, index + 1, docs, index, size - index - 1);
+        System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+        size--;
+    }
+
+    int frequencyOf(int doc) {
+        int index = Arrays.binarySearch(docs, 0, size, doc);
+        return index >= 0 ? frequencies[index] : 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int docAt(int index) {
+        return docs[index];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,60 @@
+package com.jackblog.domain.post.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// 한글은 음절 bigram, 그 밖의 문자/숫자는 단어 단위로 자른다 (한 글자짜리 한글 구간은 unigram)
+final class SearchTokenizer {
+
+    private SearchTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int length = lower.length();
+        int index = 0;
+        while (index < length) {
+            char current = lower.charAt(index);
+            int start = index;
+            if (isHangulSyllable(current)) {
+                while (index < length && isHangulSyllable(lower.charAt(index))) {
+                    index++;
+                }
+                addHangulBigrams(lower, start, index, tokens);
+            } else if (Character.isLetterOrDigit(current)) {
+                while (index < length && isWordCharacter(lower.charAt(index))) {
+                    index++;
+                }
+                tokens.add(lower.substring(start, index));
+            } else {
+                index++;
+            }
+        }
+        return tokens;
+    }
+
+    static boolean isHangulSyllable(char value) {
+        return value >= '\uAC00' && value <= '\uD7A3';
+    }
+
+    private static boolean isWordCharacter(char value) {
+        return Character.isLetterOrDigit(value) && !isHangulSyllable(value);
+    }
+
+    private static void addHangulBigrams(String text, int start, int end, List<String> tokens) {
+        if (end - start == 1) {
+            tokens.add(text.substring(start, end));
+            return;
+        }
+
+        for (int index = start; index + 2 <= end; index++) {
+            tokens.add(text.substring(index, index + 2));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.jackblog.domain.post.search;
+
+import lombok.Getter;
+
+// 같은 글/카테고리는 여러 키(제목의 각 단어, slug 등)로 trie 에 걸리므로 객체 동일성으로 구분한다
+@Getter
+final class Suggestion {
+
+    enum Type {
+        POST,
+        CATEGORY
+    }
+
+    private final Type type;
+    private final String text;
+    private final String slug;
+    private long weight;
+
+    Suggestion(Type type, String text, String slug, long weight) {
+        this.type = type;
+        this.text = text;
+        this.slug = slug;
+        this.weight = weight;
+    }
+
+    void addWeight(long delta) {
+        weight += delta;
+    }
+}
@@ -0,0 +1,175 @@
+package com.jackblog.domain.post.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 공통 접두어를 한 간선에 합친 radix trie. 노드마다 하위 트리의 상위 k개 추천어를 미리 계산해 두어
+// 조회는 접두어 길이만큼만 내려가면 끝난다
+final class SuggestionTrie {
+
+    private static final Comparator<Suggestion> RANKING = Comparator
+        .comparingLong(Suggestion::getWeight).reversed()
+        .thenComparing(Suggestion::getText);
+
+    private final int capacity;
+    private final Node root = new Node("");
+
+    SuggestionTrie(int capacity) {
+        this.capacity = capacity;
+    }
+
+    void add(String key, Suggestion suggestion) {
+        if (key.isEmpty()) {
+            return;
+        }
+
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int offset = 0;
+        while (offset < key.length()) {
+            Node child = node.children.get(key.charAt(offset));
+            if (child == null) {
+                child = new Node(key.substring(offset));
+                node.children.put(key.charAt(offset), child);
+                offset = key.length();
+            } else {
+                int common = commonPrefixLength(child.label, key, offset);
+                if (common < child.label.length()) {
+                    // 간선 중간에서 갈라지면 공통 부분을 새 노드로 떼어 낸다
+                    Node split = new Node(child.label.substring(0, common));
+                    child.label = child.label.substring(common);
+                    split.children.put(child.label.charAt(0), child);
+                    node.children.put(split.label.charAt(0), split);
+                    child = split;
+                }
+                offset += common;
+            }
+            node = child;
+            path.add(node);
+        }
+
+        node.terminals.add(suggestion);
+        refresh(path);
+    }
+
+    void remove(String key, Suggestion suggestion) {
+        List<Node> path = findPath(key);
+        if (path == null || !path.get(path.size() - 1).terminals.remove(suggestion)) {
+            return;
+        }
+
+        // 비게 된 노드는 지우고, 자식이 하나만 남은 노드는 자식과 합쳐 압축 상태를 유지한다
+        for (int index = path.size() - 1; index > 0; index--) {
+            Node node = path.get(index);
+            Node parent = path.get(index - 1);
+            if (!node.terminals.isEmpty() || node.children.size() > 1) {
+                break;
+            }
+            if (node.children.isEmpty()) {
+                parent.children.remove(node.label.charAt(0));
+                path.remove(index);
+                continue;
+            }
+
+            Node only = node.children.values().iterator().next();
+            only.label = node.label + only.label;
+            parent.children.put(only.label.charAt(0), only);
+            path.set(index, only);
+            break;
+        }
+        refresh(path);
+    }
+
+    // 가중치가 바뀐 추천어가 걸린 경로의 상위 k개 목록을 다시 계산한다
+    void reweigh(String key) {
+        List<Node> path = findPath(key);
+        if (path != null) {
+            refresh(path);
+        }
+    }
+
+    List<Suggestion> complete(String prefix, int limit) {
+        Node node = root;
+        int offset = 0;
+        while (offset < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(offset));
+            if (child == null) {
+                return List.of();
+            }
+
+            int remaining = prefix.length() - offset;
+            if (child.label.length() >= remaining) {
+                // 접두어가 간선 중간에서 끝나면 그 간선 아래 전체가 후보다
+                return child.label.startsWith(prefix.substring(offset)) ? head(child.top, limit) : List.of();
+            }
+            if (!prefix.startsWith(child.label, offset)) {
+                return List.of();
+            }
+            offset += child.label.length();
+            node = child;
+        }
+        return head(node.top, limit);
+    }
+
+    private List<Node> findPath(String key) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int offset = 0;
+        while (offset < key.length()) {
+            Node child = node.children.get(key.charAt(offset));
+            if (child == null || !key.startsWith(child.label, offset)) {
+                return null;
+            }
+            offset += child.label.length();
+            node = child;
+            path.add(node);
+        }
+        return path;
+    }
+
+    private void refresh(List<Node> path) {
+        for (int index = path.size() - 1; index >= 0; index--) {
+            Node node = path.get(index);
+            Set<Suggestion> candidates = new LinkedHashSet<>(node.terminals);
+            for (Node child : node.children.values()) {
+                candidates.addAll(child.top);
+            }
+
+            List<Suggestion> ranked = new ArrayList<>(candidates);
+            ranked.sort(RANKING);
+            node.top = List.copyOf(head(ranked, capacity));
+        }
+    }
+
+    private static List<Suggestion> head(List<Suggestion> suggestions, int limit) {
+        return suggestions.size() <= limit ? suggestions : suggestions.subList(0, limit);
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int common = 0;
+        while (common < length && label.charAt(common) == key.charAt(offset + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    private static final class Node {
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>();
+        private final Set<Suggestion> terminals = new HashSet<>();
+        private List<Suggestion> top = List.of();
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.jackblog.domain.post.service;
+
+import com.jackblog.domain.post.dto.CategoryCountResponse;
+import com.jackblog.domain.post.entity.Post;
+import com.jackblog.domain.post.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// 공개 글의 카테고리와 카테고리별 글 수를 메모리에 들고 있어 목록 요청마다 DB 를 읽지 않는다.
+// 글이 저장/삭제될 때 바뀐 글의 카테고리만 더하고 빼며, 읽는 쪽은 변경마다 새로 만든 스냅샷을 그대로 쓴다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostCategoryRegistry {
+
+    private final PostRepository postRepository;
+
+    // 공개 글 id -> slug 와 카테고리 이름
+    private final Map<Long, PostCategories> postCategories = new HashMap<>();
+    private final Map<String, Integer> counts = new TreeMap<>();
+
+    private volatile Snapshot snapshot = new Snapshot(List.of(), List.of(), Map.of());
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void initialize() {
+        Map<Long, PostCategories> loaded = new HashMap<>();
+        for (Post post : postRepository.findByIsPublishedTrue()) {
+            loaded.put(post.getId(), new PostCategories(post.getSlug(), categoriesOf(post)));
+        }
+
+        synchronized (this) {
+            postCategories.clear();
+            counts.clear();
+            loaded.forEach(this::add);
+            publish();
+        }
+        log.info("Built category registry with {} categories from {} posts", counts.size(), loaded.size());
+    }
+
+    public List<String> getCategories() {
+        return snapshot.names;
+    }
+
+    public List<CategoryCountResponse> getCategoryCounts() {
+        return snapshot.counts;
+    }
+
+    // 공개 글 slug -> 카테고리 이름. 변경이 없으면 같은 Map 객체를 돌려주므로 동일성으로 변경 여부를 알 수 있다
+    public Map<String, Set<String>> getPostCategoriesBySlug() {
+        return snapshot.postCategoriesBySlug;
+    }
+
+    // 글 저장 트랜잭션 안에서 카테고리를 읽어 두고, 커밋된 뒤에만 반영한다
+    public void index(Post post) {
+        Long postId = post.getId();
+        PostCategories categories = Boolean.TRUE.equals(post.getIsPublished())
+            ? new PostCategories(post.getSlug(), categoriesOf(post))
+            : null;
+        afterCommit(() -> {
+            synchronized (this) {
+                subtract(postId);
+                if (categories != null) {
+                    add(postId, categories);
+                }
+                publish();
+            }
+        });
+    }
+
+    public void remove(Long postId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                subtract(postId);
+                publish();
+            }
+        });
+    }
+
+    private void add(Long postId, PostCategories categories) {
+        postCategories.put(postId, categories);
+        for (String category : categories.names()) {
+            counts.merge(category, 1, Integer::sum);
+        }
+    }
+
+    private void subtract(Long postId) {
+        PostCategories previous = postCategories.remove(postId);
+        if (previous == null) {
+            return;
+        }
+
+        for (String category : previous.names()) {
+            counts.computeIfPresent(category, (name, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private void publish() {
+        Map<String, Set<String>> bySlug = new HashMap<>();
+        for (PostCategories post : postCategories.values()) {
+            bySlug.put(post.slug(), post.names());
+        }
+
+        snapshot = new Snapshot(
+            List.copyOf(counts.keySet()),
+            counts.entrySet().stream()
+                .map(entry -> new CategoryCountResponse(entry.getKey(), entry.getValue()))
+                .toList(),
+            Collections.unmodifiableMap(bySlug)
+        );
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // 예전 글은 category 컬럼에만 값이 있을 수 있어 둘을 합친다
+    private static Set<String> categoriesOf(Post post) {
+        Set<String> categories = new LinkedHashSet<>();
+        if (StringUtils.hasText(post.getCategory())) {
+            categories.add(post.getCategory().trim());
+        }
+        for (String category : post.getCategories()) {
+            if (StringUtils.hasText(category)) {
+                categories.add(category.trim());
+            }
+        }
+        return Collections.unmodifiableSet(categories);
+    }
+
+    private record PostCategories(String slug, Set<String> names) {
+    }
+
+    private record Snapshot(
+        List<String> names,
+        List<CategoryCountResponse> counts,
+        Map<String, Set<String>> postCategoriesBySlug
+    ) {
+    }
+}
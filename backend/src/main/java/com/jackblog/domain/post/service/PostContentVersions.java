@@ -0,0 +1,92 @@
+package com.jackblog.domain.post.service;
+
+import com.jackblog.domain.post.event.PostChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class PostContentVersions {
+
+    // 재시작하면 메모리 버전이 0부터 다시 시작하므로 기동 시각을 섞어 이전 ETag 와 겹치지 않게 한다
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong allPostsVersion = new AtomicLong();
+    private final AtomicLong listVersion = new AtomicLong();
+    private final AtomicLong popularVersion = new AtomicLong();
+    private final Map<String, PostVersion> postVersions = new ConcurrentHashMap<>();
+
+    public String listETag() {
+        return etag("l", listVersion.get());
+    }
+
+    public String popularETag() {
+        return etag("pp", popularVersion.get());
+    }
+
+    public String postETag(String slug) {
+        PostVersion version = postVersions.get(slug);
+        return etag("p", version == null ? 0 : version.content.get());
+    }
+
+    public String commentsETag(String slug) {
+        PostVersion version = postVersions.get(slug);
+        return etag("c", version == null ? 0 : version.comments.get());
+    }
+
+    // 조회수만 바뀐 목록은 PostListResponseCache 가 주기적으로 캐시를 비운 뒤 호출한다
+    public void bumpListVersion() {
+        listVersion.incrementAndGet();
+    }
+
+    // 조회수만 바뀐 상세 글은 PostDetailCache 가 주기적으로 해당 slug 를 비운 뒤 호출한다
+    public void bumpPostVersions(Collection<String> slugs) {
+        for (String slug : slugs) {
+            postVersions.computeIfAbsent(slug, key -> new PostVersion()).content.incrementAndGet();
+        }
+    }
+
+    // 응답 캐시들이 먼저 비워진 뒤에 버전을 올린다. 반대 순서면 그 사이 요청이 새 ETag 와 예전 본문을 함께 받아
+    // 클라이언트가 다음 쓰기 전까지 304 로 오래된 본문을 계속 쓰게 된다
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        PostChangedEvent.Type type = event.getType();
+        if (type == PostChangedEvent.Type.REACTIONS) {
+            return;
+        }
+
+        popularVersion.incrementAndGet();
+        // 조회수 flush 마다 목록/상세 ETag 가 바뀌지 않게 여기서 멈추고, 두 캐시의 주기적 갱신에 맡긴다
+        if (type == PostChangedEvent.Type.VIEWS) {
+            return;
+        }
+        listVersion.incrementAndGet();
+
+        if (event.isAllPosts()) {
+            allPostsVersion.incrementAndGet();
+            return;
+        }
+
+        // 삭제된 글의 버전도 지우지 않아야 같은 slug 로 다시 만들어져도 예전 ETag 와 겹치지 않는다
+        PostVersion version = postVersions.computeIfAbsent(event.getSlug(), key -> new PostVersion());
+        version.content.incrementAndGet();
+        if (type == PostChangedEvent.Type.COMMENTS || type == PostChangedEvent.Type.DELETED) {
+            version.comments.incrementAndGet();
+        }
+    }
+
+    private String etag(String prefix, long version) {
+        return prefix + "-" + epoch + "-" + allPostsVersion.get() + "-" + version;
+    }
+
+    private static final class PostVersion {
+        private final AtomicLong content = new AtomicLong();
+        private final AtomicLong comments = new AtomicLong();
+    }
+}
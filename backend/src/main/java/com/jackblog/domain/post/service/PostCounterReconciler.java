@@ -0,0 +1,26 @@
+package com.jackblog.domain.post.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostCounterReconciler {
+
+    private final PostService postService;
+
+    // 컬럼이 새로 추가됐거나 수동 SQL 로 데이터가 바뀐 경우를 대비해 기동 시 한 번 카운터를 맞춘다
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        try {
+            int updated = postService.reconcileCounters();
+            log.info("Reconciled comment/like counters for {} posts", updated);
+        } catch (Exception e) {
+            log.warn("Failed to reconcile post counters on startup", e);
+        }
+    }
+}
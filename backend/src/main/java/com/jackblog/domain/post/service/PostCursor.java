@@ -0,0 +1,36 @@
+package com.jackblog.domain.post.service;
+
+import com.jackblog.common.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+// 정렬 기준 시각과 id 를 "2024-05-01T09:00:00,42" 형태로 주고받는다
+@Getter
+@AllArgsConstructor
+class PostCursor {
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    static PostCursor parse(String value) {
+        int separator = value.lastIndexOf(',');
+        if (separator < 0) {
+            throw new BadRequestException("Invalid cursor: " + value);
+        }
+
+        try {
+            return new PostCursor(
+                LocalDateTime.parse(value.substring(0, separator).trim()),
+                Long.parseLong(value.substring(separator + 1).trim())
+            );
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor: " + value);
+        }
+    }
+
+    static String format(LocalDateTime timestamp, Long id) {
+        return timestamp + "," + id;
+    }
+}
@@ -0,0 +1,44 @@
+package com.jackblog.domain.post.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostDerivedFieldBackfill {
+
+    private static final int BATCH_SIZE = 50;
+
+    private final PostService postService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            int published = postService.backfillPublishedAt();
+            if (published > 0) {
+                log.info("Backfilled published_at for {} legacy posts", published);
+            }
+            int updated = backfill();
+            if (updated > 0) {
+                log.info("Backfilled excerpt/thumbnail/analysis for {} posts", updated);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to backfill derived post fields on startup", e);
+        }
+    }
+
+    // 한 트랜잭션이 SQLite 쓰기 잠금을 오래 잡지 않도록 batch 마다 커밋한다
+    public int backfill() {
+        int total = 0;
+        int updated;
+        do {
+            updated = postService.backfillDerivedFields(BATCH_SIZE);
+            total += updated;
+        } while (updated == BATCH_SIZE);
+        return total;
+    }
+}
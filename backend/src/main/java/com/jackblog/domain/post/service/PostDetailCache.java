@@ -0,0 +1,104 @@
+package com.jackblog.domain.post.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jackblog.domain.post.dto.PostDetailResponse;
+import com.jackblog.domain.post.event.PostChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@Component
+public class PostDetailCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 512;
+
+    private final Cache<String, PostDetailResponse> cache;
+    private final PostContentVersions postContentVersions;
+    private final Set<String> viewedSlugs = ConcurrentHashMap.newKeySet();
+
+    public PostDetailCache(
+        @Value("${post.detail-cache.max-size:32MB}") DataSize maxSize,
+        PostContentVersions postContentVersions,
+        MeterRegistry meterRegistry
+    ) {
+        this.postContentVersions = postContentVersions;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxSize.toBytes())
+            .weigher((String slug, PostDetailResponse post) -> estimateSize(post))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "postDetail");
+    }
+
+    // 로더가 실행되는 동안 같은 slug 의 무효화는 로드가 끝날 때까지 기다리므로 오래된 값이 남지 않는다
+    public PostDetailResponse get(String slug, Function<String, PostDetailResponse> loader) {
+        return cache.get(slug, loader);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getType() == PostChangedEvent.Type.REACTIONS) {
+            return;
+        }
+        if (event.getType() == PostChangedEvent.Type.VIEWS) {
+            // 조회수 flush 마다 본문을 다시 읽지 않게 모아 두었다가 refreshViewCounts 에서 한 번에 비운다
+            if (!event.isAllPosts()) {
+                viewedSlugs.add(event.getSlug());
+            }
+            return;
+        }
+
+        if (event.isAllPosts()) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(event.getSlug());
+        }
+    }
+
+    // 상세 글의 viewCount 는 최대 이 주기만큼 늦을 수 있다. 캐시를 먼저 비운 뒤 ETag 를 바꿔야 304 로 예전 값이 남지 않는다
+    @Scheduled(
+        fixedDelayString = "${post.detail-cache.view-refresh-interval-ms:60000}",
+        initialDelayString = "${post.detail-cache.view-refresh-interval-ms:60000}"
+    )
+    public void refreshViewCounts() {
+        if (viewedSlugs.isEmpty()) {
+            return;
+        }
+        // 하나씩 꺼내야 그 사이 다시 조회된 slug 가 다음 주기로 넘어가고 사라지지 않는다
+        List<String> slugs = new ArrayList<>();
+        for (Iterator<String> it = viewedSlugs.iterator(); it.hasNext(); ) {
+            slugs.add(it.next());
+            it.remove();
+        }
+        cache.invalidateAll(slugs);
+        postContentVersions.bumpPostVersions(slugs);
+    }
+
+    private static int estimateSize(PostDetailResponse post) {
+        long chars = length(post.getContent())
+            + length(post.getContentHtml())
+            + length(post.getTitle())
+            + length(post.getExcerpt())
+            + length(post.getThumbnail());
+        return (int) Math.min(Integer.MAX_VALUE, chars * 2 + ENTRY_OVERHEAD_BYTES);
+    }
+
+    private static long length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -0,0 +1,292 @@
+package com.jackblog.domain.post.service;
+
+import com.jackblog.common.exception.BadRequestException;
+import com.jackblog.common.exception.ResourceNotFoundException;
+import com.jackblog.domain.post.dto.PostHourlySeriesResponse;
+import com.jackblog.domain.post.event.PostChangedEvent;
+import com.jackblog.domain.post.repository.PostHourlyStat;
+import com.jackblog.domain.post.repository.PostHourlyStatRepository;
+import com.jackblog.domain.post.repository.PostRepository;
+import com.jackblog.domain.reaction.repository.PostActivityProjection;
+import com.jackblog.domain.reaction.repository.PostLikeRepository;
+import com.jackblog.domain.reaction.repository.ReactionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 글마다 최근 hours 시간의 시간별 조회/좋아요/반응 수를 고정 크기 링 버퍼로 들고 있다.
+// 값은 PostChangedEvent 의 delta 로만 쌓고, 바뀐 버킷만 주기적으로 post_hourly_stat 에 저장한다
+@Slf4j
+@Component
+public class PostHourlyStats {
+
+    static final int VIEWS = 0;
+    static final int LIKES = 1;
+    static final int REACTIONS = 2;
+
+    private final PostHourlyStatRepository postHourlyStatRepository;
+    private final PostRepository postRepository;
+    private final PostLikeRepository postLikeRepository;
+    private final ReactionRepository reactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int hours;
+    private final Map<Long, PostSeries> series = new ConcurrentHashMap<>();
+
+    public PostHourlyStats(
+        PostHourlyStatRepository postHourlyStatRepository,
+        PostRepository postRepository,
+        PostLikeRepository postLikeRepository,
+        ReactionRepository reactionRepository,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${post.hourly-stats.hours:168}") int hours
+    ) {
+        this.postHourlyStatRepository = postHourlyStatRepository;
+        this.postRepository = postRepository;
+        this.postLikeRepository = postLikeRepository;
+        this.reactionRepository = reactionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hours = hours;
+
+        Gauge.builder("jackblog.post.hourly.posts", series, Map::size)
+            .description("Posts with an in-memory hourly series")
+            .register(meterRegistry);
+    }
+
+    // 저장된 버킷을 읽는다. 테이블이 처음 만들어졌으면 남아 있는 좋아요/반응의 created_at 으로 한 번 채운다
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void initialize() {
+        postHourlyStatRepository.createTableIfNotExists();
+
+        long oldestHour = currentHour() - hours + 1;
+        if (postHourlyStatRepository.isEmpty()) {
+            LocalDateTime since = startOf(oldestHour);
+            postLikeRepository.findActivitySince(since).forEach(activity -> seed(activity, LIKES));
+            reactionRepository.findActivitySince(since).forEach(activity -> seed(activity, REACTIONS));
+            log.info("Seeded hourly stats for {} posts from likes and reactions", series.size());
+            return;
+        }
+
+        for (PostHourlyStat stat : postHourlyStatRepository.findSince(oldestHour)) {
+            PostSeries postSeries = series(stat.getPostId());
+            postSeries.load(stat.getHour(), VIEWS, stat.getViews());
+            postSeries.load(stat.getHour(), LIKES, stat.getLikes());
+            postSeries.load(stat.getHour(), REACTIONS, stat.getReactions());
+        }
+        log.info("Loaded hourly stats for {} posts", series.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.isAllPosts()) {
+            return;
+        }
+        switch (event.getType()) {
+            case VIEWS -> record(event.getPostId(), VIEWS, event.getDelta());
+            case LIKES -> record(event.getPostId(), LIKES, event.getDelta());
+            case REACTIONS -> record(event.getPostId(), REACTIONS, event.getDelta());
+            case DELETED -> remove(event.getPostId());
+            default -> {
+            }
+        }
+    }
+
+    public PostHourlySeriesResponse getSeries(String slug, int requestedHours) {
+        if (requestedHours < 1 || requestedHours > hours) {
+            throw new BadRequestException("hours must be between 1 and " + hours);
+        }
+        Long postId = postRepository.findIdBySlug(slug)
+            .orElseThrow(() -> ResourceNotFoundException.post(slug));
+
+        long toHour = currentHour();
+        long fromHour = toHour - requestedHours + 1;
+        PostSeries postSeries = series.get(postId);
+        return PostHourlySeriesResponse.builder()
+            .postId(postId)
+            .slug(slug)
+            .from(startOf(fromHour))
+            .hours(requestedHours)
+            .views(postSeries == null ? new long[requestedHours] : postSeries.range(VIEWS, fromHour, toHour))
+            .likes(postSeries == null ? new long[requestedHours] : postSeries.range(LIKES, fromHour, toHour))
+            .reactions(postSeries == null ? new long[requestedHours] : postSeries.range(REACTIONS, fromHour, toHour))
+            .build();
+    }
+
+    @Scheduled(
+        fixedDelayString = "${post.hourly-stats.checkpoint-interval-ms:60000}",
+        initialDelayString = "${post.hourly-stats.checkpoint-interval-ms:60000}"
+    )
+    public synchronized void checkpoint() {
+        long oldestHour = currentHour() - hours + 1;
+        Map<PostSeries, List<PostHourlyStat>> changed = new HashMap<>();
+        List<PostHourlyStat> rows = new ArrayList<>();
+        series.forEach((postId, postSeries) -> {
+            List<PostHourlyStat> dirty = postSeries.drainDirty(postId);
+            if (!dirty.isEmpty()) {
+                changed.put(postSeries, dirty);
+                rows.addAll(dirty);
+            }
+        });
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!rows.isEmpty()) {
+                    postHourlyStatRepository.saveAll(rows);
+                }
+                postHourlyStatRepository.deleteBefore(oldestHour);
+            });
+        } catch (RuntimeException e) {
+            // 저장하지 못한 버킷은 다음 주기에 다시 저장한다
+            changed.forEach((postSeries, dirty) -> dirty.forEach(stat -> postSeries.markDirty(stat.getHour())));
+            log.warn("Failed to checkpoint {} hourly post stat buckets, will retry", rows.size(), e);
+            return;
+        }
+
+        // window 밖으로 밀려나 값이 모두 0 이 된 글은 메모리에서 뺀다
+        series.entrySet().removeIf(entry -> entry.getValue().isIdleBefore(oldestHour));
+    }
+
+    @PreDestroy
+    public void checkpointOnShutdown() {
+        checkpoint();
+    }
+
+    private void record(Long postId, int metric, long delta) {
+        if (postId != null && delta != 0) {
+            series(postId).add(currentHour(), metric, delta);
+        }
+    }
+
+    private synchronized void remove(Long postId) {
+        series.remove(postId);
+        try {
+            postHourlyStatRepository.deleteByPostId(postId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete hourly stats for post {}", postId, e);
+        }
+    }
+
+    private void seed(PostActivityProjection activity, int metric) {
+        if (activity.getPostId() != null && activity.getCreatedAt() != null) {
+            series(activity.getPostId()).add(hourOf(activity.getCreatedAt()), metric, 1);
+        }
+    }
+
+    private PostSeries series(long postId) {
+        return series.computeIfAbsent(postId, key -> new PostSeries(hours));
+    }
+
+    private static long currentHour() {
+        return hourOf(LocalDateTime.now());
+    }
+
+    private static long hourOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 3600);
+    }
+
+    private static LocalDateTime startOf(long hour) {
+        return LocalDateTime.ofEpochSecond(hour * 3600, 0, ZoneOffset.UTC);
+    }
+
+    // latestHour 를 기준으로 hour % size 칸을 돌려 쓰는 고정 크기 버퍼
+    static final class PostSeries {
+        private final int size;
+        private final long[][] values;
+        private final boolean[] dirty;
+        private long latestHour = Long.MIN_VALUE;
+
+        PostSeries(int size) {
+            this.size = size;
+            this.values = new long[3][size];
+            this.dirty = new boolean[size];
+        }
+
+        synchronized void add(long hour, int metric, long delta) {
+            advance(hour);
+            if (hour > latestHour - size) {
+                int slot = slot(hour);
+                values[metric][slot] += delta;
+                dirty[slot] = true;
+            }
+        }
+
+        synchronized void load(long hour, int metric, long value) {
+            advance(hour);
+            if (hour > latestHour - size) {
+                values[metric][slot(hour)] += value;
+            }
+        }
+
+        synchronized void markDirty(long hour) {
+            if (hour > latestHour - size) {
+                dirty[slot(hour)] = true;
+            }
+        }
+
+        synchronized long[] range(int metric, long fromHour, long toHour) {
+            advance(toHour);
+            long[] range = new long[(int) (toHour - fromHour + 1)];
+            for (long hour = Math.max(fromHour, latestHour - size + 1); hour <= toHour; hour++) {
+                range[(int) (hour - fromHour)] = values[metric][slot(hour)];
+            }
+            return range;
+        }
+
+        synchronized List<PostHourlyStat> drainDirty(long postId) {
+            List<PostHourlyStat> drained = new ArrayList<>();
+            for (long hour = latestHour - size + 1; hour <= latestHour; hour++) {
+                int slot = slot(hour);
+                if (dirty[slot]) {
+                    dirty[slot] = false;
+                    drained.add(new PostHourlyStat(postId, hour, values[VIEWS][slot], values[LIKES][slot], values[REACTIONS][slot]));
+                }
+            }
+            return drained;
+        }
+
+        synchronized boolean isIdleBefore(long oldestHour) {
+            return latestHour < oldestHour;
+        }
+
+        // 새 시간으로 넘어가면 그 사이에 재사용될 칸을 비운다
+        private void advance(long hour) {
+            if (latestHour == Long.MIN_VALUE) {
+                latestHour = hour;
+                return;
+            }
+            if (hour <= latestHour) {
+                return;
+            }
+            long steps = Math.min(hour - latestHour, size);
+            for (long step = 1; step <= steps; step++) {
+                int slot = slot(latestHour + step);
+                values[VIEWS][slot] = 0;
+                values[LIKES][slot] = 0;
+                values[REACTIONS][slot] = 0;
+                dirty[slot] = false;
+            }
+            latestHour = hour;
+        }
+
+        private int slot(long hour) {
+            return (int) Math.floorMod(hour, (long) size);
+        }
+    }
+}
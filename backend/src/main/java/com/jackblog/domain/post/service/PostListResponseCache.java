@@ -0,0 +1,117 @@
+package com.jackblog.domain.post.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jackblog.domain.post.event.PostChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class PostListResponseCache {
+
+    private static final String POPULAR_PREFIX = "popular:";
+
+    private final Cache<String, byte[]> cache;
+    private final ObjectMapper objectMapper;
+    private final PostContentVersions postContentVersions;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicBoolean viewCountsChanged = new AtomicBoolean();
+
+    public PostListResponseCache(
+        @Value("${post.list-cache.max-size:8MB}") DataSize maxSize,
+        ObjectMapper objectMapper,
+        PostContentVersions postContentVersions,
+        MeterRegistry meterRegistry
+    ) {
+        this.objectMapper = objectMapper;
+        this.postContentVersions = postContentVersions;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxSize.toBytes())
+            .weigher((String key, byte[] body) -> body.length)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "postList");
+    }
+
+    public static String postsKey(int page, int size, String category) {
+        return "posts:" + page + ":" + size + ":" + (category == null ? "" : category.trim());
+    }
+
+    public static String cursorKey(String after, int size, String category, boolean includeTotal) {
+        return "cursor:" + (after == null ? "" : after.trim()) + ":" + size + ":"
+            + (category == null ? "" : category.trim()) + ":" + includeTotal;
+    }
+
+    public static String popularKey(int limit) {
+        return POPULAR_PREFIX + limit;
+    }
+
+    public byte[] get(String key, Supplier<?> bodySupplier) {
+        byte[] cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadedAt = generation.get();
+        byte[] body = serialize(bodySupplier.get());
+        cache.put(key, body);
+
+        // 직렬화하는 동안 쓰기가 커밋됐다면 방금 넣은 값은 이미 오래된 것이므로 버린다
+        if (generation.get() != loadedAt) {
+            cache.invalidate(key);
+        }
+        return body;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getType() == PostChangedEvent.Type.REACTIONS) {
+            return;
+        }
+
+        generation.incrementAndGet();
+        if (event.getType() == PostChangedEvent.Type.VIEWS) {
+            // 조회수 반영마다 목록 전체를 비우지 않고 인기글만 바로 비운다. 나머지 목록의 viewCount 는 refreshViewCounts 에서 맞춘다
+            cache.asMap().keySet().removeIf(key -> key.startsWith(POPULAR_PREFIX));
+            viewCountsChanged.set(true);
+        } else {
+            cache.invalidateAll();
+        }
+    }
+
+    // 목록의 viewCount 는 최대 이 주기만큼 늦을 수 있다. 캐시를 먼저 비운 뒤 ETag 를 바꿔야 304 로 예전 값이 남지 않는다
+    @Scheduled(
+        fixedDelayString = "${post.list-cache.view-refresh-interval-ms:60000}",
+        initialDelayString = "${post.list-cache.view-refresh-interval-ms:60000}"
+    )
+    public void refreshViewCounts() {
+        if (!viewCountsChanged.getAndSet(false)) {
+            return;
+        }
+        generation.incrementAndGet();
+        cache.invalidateAll();
+        postContentVersions.bumpListVersion();
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("failed to serialize post list response", ex);
+        }
+    }
+}
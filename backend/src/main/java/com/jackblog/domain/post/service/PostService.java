@@ -2,16 +2,22 @@ package com.jackblog.domain.post.service;
 
 import com.jackblog.common.exception.BadRequestException;
 import com.jackblog.common.exception.ResourceNotFoundException;
-import com.jackblog.domain.comment.repository.CommentRepository;
+import com.jackblog.common.response.CursorPageResponse;
 import com.jackblog.domain.post.dto.*;
 import com.jackblog.domain.post.entity.Post;
+import com.jackblog.domain.post.event.PostChangedEvent;
+import com.jackblog.domain.post.markdown.MarkdownAnalysis;
+import com.jackblog.domain.post.markdown.MarkdownRenderer;
+import com.jackblog.domain.post.repository.PostCategoryRow;
 import com.jackblog.domain.post.repository.PostRepository;
-import com.jackblog.domain.reaction.repository.PostLikeRepository;
-import com.vladsch.flexmark.html.HtmlRenderer;
-import com.vladsch.flexmark.parser.Parser;
-import com.vladsch.flexmark.util.ast.Node;
+import com.jackblog.domain.post.repository.PostSearchHit;
+import com.jackblog.domain.post.repository.PostSummary;
+import com.jackblog.domain.post.search.PostSearchEngine;
+import com.jackblog.domain.post.search.PostSuggestionIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -27,7 +33,10 @@ import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -37,57 +46,99 @@ import java.util.stream.Collectors;
 public class PostService {
 
     private final PostRepository postRepository;
-    private final CommentRepository commentRepository;
-    private final PostLikeRepository postLikeRepository;
+    private final PostViewCountBuffer postViewCountBuffer;
+    private final PostSearchEngine postSearchEngine;
+    private final PostSuggestionIndex postSuggestionIndex;
+    private final PostCategoryRegistry postCategoryRegistry;
+    private final MarkdownRenderer markdownRenderer;
+    private final PostTotalCountCache postTotalCountCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final Pattern NONLATIN = Pattern.compile("[^\\w-]");
     private static final Pattern WHITESPACE = Pattern.compile("[\\s]");
     private static final Pattern MULTIPLE_WHITESPACE = Pattern.compile("\\s+");
     private static final Pattern SEARCHABLE_CHARACTER = Pattern.compile("[\\p{L}\\p{N}]");
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
 
     public Page<PostResponse> getPosts(int page, int size, String category) {
         Pageable pageable = PageRequest.of(page, size);
 
-        Page<Post> posts;
+        Page<PostSummary> posts;
         if (StringUtils.hasText(category)) {
-            posts = postRepository.findPublishedByCategory(category.trim(), pageable);
+            posts = postRepository.findPublishedSummariesByCategory(category.trim(), pageable);
         } else {
-            posts = postRepository.findByIsPublishedTrueOrderByPublishedAtDesc(pageable);
+            posts = postRepository.findPublishedSummaries(pageable);
         }
 
-        return posts.map(this::toPostResponseWithCounts);
+        Map<Long, List<String>> categories = loadCategories(posts.getContent());
+        return posts.map(post -> PostResponse.from(post, categories.get(post.getId())));
     }
 
     public Page<PostResponse> getAllPosts(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return postRepository.findAllOrderByCreatedAtDesc(pageable).map(this::toPostResponseWithCounts);
+        Page<PostSummary> posts = postRepository.findAllSummaries(pageable);
+        Map<Long, List<String>> categories = loadCategories(posts.getContent());
+        return posts.map(post -> PostResponse.from(post, categories.get(post.getId())));
+    }
+
+    // OFFSET 대신 (publishedAt, id) 커서 다음부터 읽어 몇 번째 페이지든 같은 비용으로 가져온다
+    public CursorPageResponse<PostResponse> getPostsAfter(String after, int size, String category, boolean includeTotal) {
+        validateCursorPageSize(size);
+        PostCursor cursor = StringUtils.hasText(after) ? PostCursor.parse(after) : null;
+        Pageable pageable = PageRequest.of(0, size + 1);
+
+        List<PostSummary> posts;
+        Long totalElements = null;
+        if (StringUtils.hasText(category)) {
+            String trimmed = category.trim();
+            posts = cursor == null
+                ? postRepository.findLatestPublishedSummariesByCategory(trimmed, pageable)
+                : postRepository.findPublishedSummariesByCategoryBefore(trimmed, cursor.getTimestamp(), cursor.getId(), pageable);
+            if (includeTotal) {
+                totalElements = postTotalCountCache.get("published:" + trimmed, () -> postRepository.countPublishedByCategory(trimmed));
+            }
+        } else {
+            posts = cursor == null
+                ? postRepository.findLatestPublishedSummaries(pageable)
+                : postRepository.findPublishedSummariesBefore(cursor.getTimestamp(), cursor.getId(), pageable);
+            if (includeTotal) {
+                totalElements = postTotalCountCache.get("published", postRepository::countByIsPublishedTrue);
+            }
+        }
+
+        return toCursorPage(posts, size, totalElements, PostSummary::getPublishedAt);
+    }
+
+    public CursorPageResponse<PostResponse> getAllPostsAfter(String after, int size, boolean includeTotal) {
+        validateCursorPageSize(size);
+        PostCursor cursor = StringUtils.hasText(after) ? PostCursor.parse(after) : null;
+        Pageable pageable = PageRequest.of(0, size + 1);
+
+        List<PostSummary> posts = cursor == null
+            ? postRepository.findLatestSummaries(pageable)
+            : postRepository.findSummariesCreatedBefore(cursor.getTimestamp(), cursor.getId(), pageable);
+        Long totalElements = includeTotal ? postTotalCountCache.get("all", postRepository::count) : null;
+
+        return toCursorPage(posts, size, totalElements, PostSummary::getCreatedAt);
     }
 
     public PostDetailResponse getPost(String slug) {
         Post post = postRepository.findBySlugAndIsPublishedTrue(slug)
             .orElseThrow(() -> ResourceNotFoundException.post(slug));
 
-        long commentCount = commentRepository.countActiveCommentsByPostId(post.getId());
-        long likeCount = postLikeRepository.countByPostId(post.getId());
-
-        return PostDetailResponse.from(post, commentCount, likeCount);
+        return PostDetailResponse.from(post);
     }
 
     public PostDetailResponse getPostAdmin(String slug) {
         Post post = postRepository.findBySlug(slug)
             .orElseThrow(() -> ResourceNotFoundException.post(slug));
 
-        long commentCount = commentRepository.countActiveCommentsByPostId(post.getId());
-        long likeCount = postLikeRepository.countByPostId(post.getId());
-
-        return PostDetailResponse.from(post, commentCount, likeCount);
+        return PostDetailResponse.from(post);
     }
 
-    @Transactional
     public void incrementViewCount(String slug) {
-        Post post = postRepository.findBySlug(slug)
-            .orElseThrow(() -> ResourceNotFoundException.post(slug));
-        post.incrementViewCount();
+        postViewCountBuffer.increment(slug);
     }
 
     @Transactional
@@ -103,25 +154,23 @@ public class PostService {
             throw new BadRequestException("Slug already exists: " + slug);
         }
 
-        String contentHtml = convertMarkdownToHtml(request.getContent());
-        int readingTime = calculateReadingTime(request.getContent());
+        MarkdownAnalysis analysis = markdownRenderer.analyze(request.getContent());
         String excerpt = StringUtils.hasText(request.getExcerpt())
             ? request.getExcerpt()
-            : generateExcerpt(request.getContent());
-        String thumbnail = resolveThumbnail(request.getThumbnail(), contentHtml);
+            : analysis.getExcerpt();
+        String thumbnail = resolveThumbnail(request.getThumbnail(), analysis.getFirstImageUrl());
         List<String> categories = resolveCategories(request.getCategories(), request.getCategory(), true);
 
         Post post = Post.builder()
             .slug(slug)
             .title(request.getTitle())
             .content(request.getContent())
-            .contentHtml(contentHtml)
             .excerpt(excerpt)
             .thumbnail(thumbnail)
             .category(categories.get(0))
             .categories(new ArrayList<>(categories))
-            .readingTime(readingTime)
             .build();
+        post.applyAnalysis(analysis);
 
         if (Boolean.TRUE.equals(request.getPublish())) {
             post.publish();
@@ -130,7 +179,11 @@ public class PostService {
         resolvePublishedAt(request.getPublishedAt()).ifPresent(post::setPublishedAt);
 
         Post savedPost = postRepository.save(post);
-        return toPostResponseWithCounts(savedPost);
+        postSearchEngine.index(savedPost);
+        postSuggestionIndex.index(savedPost);
+        postCategoryRegistry.index(savedPost);
+        eventPublisher.publishEvent(new PostChangedEvent(savedPost.getId(), slug, PostChangedEvent.Type.CONTENT));
+        return PostResponse.from(savedPost);
     }
 
     @Transactional
@@ -138,27 +191,30 @@ public class PostService {
         Post post = postRepository.findBySlug(slug)
             .orElseThrow(() -> ResourceNotFoundException.post(slug));
 
+        boolean contentChanged = StringUtils.hasText(request.getContent());
         String title = StringUtils.hasText(request.getTitle()) ? request.getTitle() : post.getTitle();
-        String content = StringUtils.hasText(request.getContent()) ? request.getContent() : post.getContent();
-        String contentHtml = StringUtils.hasText(request.getContent())
-            ? convertMarkdownToHtml(request.getContent())
-            : post.getContentHtml();
+        String content = contentChanged ? request.getContent() : post.getContent();
+        // 분석 값이 아직 없는 예전 글은 본문이 그대로여도 이번에 한 번 분석해 둔다
+        MarkdownAnalysis analysis = contentChanged || post.getWordCount() == null
+            ? markdownRenderer.analyze(content)
+            : null;
         String excerpt = StringUtils.hasText(request.getExcerpt())
             ? request.getExcerpt()
-            : (StringUtils.hasText(request.getContent()) ? generateExcerpt(request.getContent()) : post.getExcerpt());
+            : (contentChanged ? analysis.getExcerpt() : post.getExcerpt());
+        String firstImageUrl = analysis != null ? analysis.getFirstImageUrl() : post.getFirstImageUrl();
         String thumbnail = request.getThumbnail() != null
-            ? resolveThumbnail(request.getThumbnail(), contentHtml)
-            : resolveThumbnail(post.getThumbnail(), contentHtml);
+            ? resolveThumbnail(request.getThumbnail(), firstImageUrl)
+            : resolveThumbnail(post.getThumbnail(), firstImageUrl);
         List<String> categories = resolveCategories(
             request.getCategories(),
             request.getCategory(),
             resolveCategories(post.getCategories(), post.getCategory(), true)
         );
-        int readingTime = StringUtils.hasText(request.getContent())
-            ? calculateReadingTime(request.getContent())
-            : post.getReadingTime();
 
-        post.updateContent(title, content, contentHtml, excerpt, thumbnail, categories, readingTime);
+        post.updateContent(title, content, excerpt, thumbnail, categories);
+        if (analysis != null) {
+            post.applyAnalysis(analysis);
+        }
 
         if (request.getPublish() != null) {
             if (request.getPublish()) {
@@ -170,7 +226,11 @@ public class PostService {
 
         resolvePublishedAt(request.getPublishedAt()).ifPresent(post::setPublishedAt);
 
-        return toPostResponseWithCounts(post);
+        postSearchEngine.index(post);
+        postSuggestionIndex.index(post);
+        postCategoryRegistry.index(post);
+        eventPublisher.publishEvent(new PostChangedEvent(post.getId(), slug, PostChangedEvent.Type.CONTENT));
+        return PostResponse.from(post);
     }
 
     @Transactional
@@ -178,24 +238,53 @@ public class PostService {
         Post post = postRepository.findBySlug(slug)
             .orElseThrow(() -> ResourceNotFoundException.post(slug));
         postRepository.delete(post);
+        postSearchEngine.remove(post.getId());
+        postSuggestionIndex.remove(post.getId());
+        postCategoryRegistry.remove(post.getId());
+        postViewCountBuffer.discard(slug);
+        eventPublisher.publishEvent(new PostChangedEvent(post.getId(), slug, PostChangedEvent.Type.DELETED));
     }
 
-    public List<PostResponse> searchPosts(String query) {
+    public Page<PostResponse> searchPosts(String query, int page, int size) {
         String normalizedQuery = normalizeSearchQuery(query);
 
         if (!StringUtils.hasText(normalizedQuery) || normalizedQuery.length() < 2) {
             throw new BadRequestException("Search query must be at least 2 characters");
         }
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new BadRequestException("Search page must be >= 0 and size between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
 
+        Pageable pageable = PageRequest.of(page, size);
         if (!SEARCHABLE_CHARACTER.matcher(normalizedQuery).find()) {
-            return List.of();
+            return Page.empty(pageable);
         }
 
-        List<Post> posts = postRepository.searchPosts(escapeLikeWildcards(normalizedQuery));
+        Optional<Page<PostSearchHit>> hits = postSearchEngine.search(normalizedQuery, pageable);
+        if (hits.isPresent()) {
+            return toRankedPostResponses(hits.get());
+        }
 
-        return posts.stream()
-            .map(this::toPostResponseWithCounts)
+        return postRepository.searchPosts(escapeLikeWildcards(normalizedQuery), pageable)
+            .map(PostResponse::from);
+    }
+
+    @Transactional
+    public int rebuildSearchIndex() {
+        return postSearchEngine.rebuild();
+    }
+
+    // 검색 엔진이 돌려준 한 페이지 분량의 글만 불러와 관련도 순서를 유지한다
+    private Page<PostResponse> toRankedPostResponses(Page<PostSearchHit> hits) {
+        Map<Long, Post> postsById = postRepository.findAllById(hits.map(PostSearchHit::getPostId).getContent())
+            .stream()
+            .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        List<PostResponse> posts = hits.stream()
+            .filter(hit -> postsById.containsKey(hit.getPostId()))
+            .map(hit -> PostResponse.from(postsById.get(hit.getPostId()), hit.getSnippet()))
             .collect(Collectors.toList());
+        return new PageImpl<>(posts, hits.getPageable(), hits.getTotalElements());
     }
 
     private String normalizeSearchQuery(String query) {
@@ -213,17 +302,111 @@ public class PostService {
             .replace("_", "\\_");
     }
 
-    public List<String> getCategories() {
-        return postRepository.findAllCategories();
+    // 요약/썸네일/분석 값이 비어 있는 글을 batchSize 개씩 채워, 목록 응답이 읽을 때 다시 계산하지 않게 한다
+    @Transactional
+    public int backfillDerivedFields(int batchSize) {
+        List<Post> posts = postRepository.findPostsMissingDerivedFields(PageRequest.of(0, batchSize));
+        for (Post post : posts) {
+            MarkdownAnalysis analysis = markdownRenderer.analyze(post.getContent());
+            post.applyAnalysis(analysis);
+            if (!StringUtils.hasText(post.getExcerpt())) {
+                post.setExcerpt(analysis.getExcerpt());
+            }
+            post.setThumbnail(resolveThumbnail(post.getThumbnail(), analysis.getFirstImageUrl()));
+            postRepository.updateDerivedFields(post);
+            postSearchEngine.index(post);
+        }
+
+        if (!posts.isEmpty()) {
+            eventPublisher.publishEvent(PostChangedEvent.allPosts(PostChangedEvent.Type.CONTENT));
+        }
+        return posts.size();
+    }
+
+    @Transactional
+    public int backfillPublishedAt() {
+        int updated = postRepository.backfillPublishedAt();
+        if (updated > 0) {
+            eventPublisher.publishEvent(PostChangedEvent.allPosts(PostChangedEvent.Type.CONTENT));
+        }
+        return updated;
+    }
+
+    // 댓글/좋아요 카운터가 실제 테이블과 어긋난 글만 다시 계산하고, 고친 글 수를 돌려준다
+    @Transactional
+    public int reconcileCounters() {
+        int updated = postRepository.reconcileCounters();
+        // 어긋난 글이 없으면 캐시와 ETag 를 그대로 둔다
+        if (updated > 0) {
+            eventPublisher.publishEvent(PostChangedEvent.allPosts(PostChangedEvent.Type.COMMENTS));
+        }
+        return updated;
     }
 
     public List<PostResponse> getPopularPosts(int limit) {
-        return postRepository.findPopularPosts(PageRequest.of(0, limit))
-            .stream()
-            .map(this::toPostResponseWithCounts)
+        List<PostSummary> posts = postRepository.findPopularSummaries(PageRequest.of(0, limit));
+        Map<Long, List<String>> categories = loadCategories(posts);
+        return posts.stream()
+            .map(post -> PostResponse.from(post, categories.get(post.getId())))
             .collect(Collectors.toList());
     }
 
+    private void validateCursorPageSize(int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+    }
+
+    // size + 1 개를 읽어 다음 페이지가 있는지 COUNT 없이 판단한다
+    private CursorPageResponse<PostResponse> toCursorPage(
+        List<PostSummary> rows,
+        int size,
+        Long totalElements,
+        Function<PostSummary, LocalDateTime> sortKey
+    ) {
+        boolean hasNext = rows.size() > size;
+        List<PostSummary> posts = hasNext ? rows.subList(0, size) : rows;
+        Map<Long, List<String>> categories = loadCategories(posts);
+
+        String nextCursor = null;
+        if (hasNext) {
+            PostSummary last = posts.get(posts.size() - 1);
+            LocalDateTime timestamp = sortKey.apply(last);
+            if (timestamp == null) {
+                timestamp = last.getCreatedAt();
+            }
+            // 정렬 시각이 전혀 없는 글 뒤로는 keyset 조건으로 이어 읽을 수 없으므로 마지막 페이지로 끝낸다
+            if (timestamp == null) {
+                hasNext = false;
+            } else {
+                nextCursor = PostCursor.format(timestamp, last.getId());
+            }
+        }
+
+        return CursorPageResponse.<PostResponse>builder()
+            .content(posts.stream()
+                .map(post -> PostResponse.from(post, categories.get(post.getId())))
+                .toList())
+            .size(size)
+            .hasNext(hasNext)
+            .nextCursor(nextCursor)
+            .totalElements(totalElements)
+            .build();
+    }
+
+    private Map<Long, List<String>> loadCategories(List<PostSummary> posts) {
+        if (posts.isEmpty()) {
+            return Map.of();
+        }
+
+        return postRepository.findCategoriesByPostIds(posts.stream().map(PostSummary::getId).toList())
+            .stream()
+            .collect(Collectors.groupingBy(
+                PostCategoryRow::getPostId,
+                Collectors.mapping(PostCategoryRow::getCategoryName, Collectors.toList())
+            ));
+    }
+
     private List<String> resolveCategories(List<String> requestedCategories, String legacyCategory, boolean required) {
         List<String> normalized = normalizeCategories(requestedCategories, legacyCategory);
         if (required && normalized.isEmpty()) {
@@ -267,12 +450,6 @@ public class PostService {
         return new ArrayList<>(uniqueCategories);
     }
 
-    private PostResponse toPostResponseWithCounts(Post post) {
-        long commentCount = commentRepository.countActiveCommentsByPostId(post.getId());
-        long likeCount = postLikeRepository.countByPostId(post.getId());
-        return PostResponse.from(post, commentCount, likeCount);
-    }
-
     private String generateSlug(String title) {
         String slug = normalizeSlug(title);
 
@@ -293,46 +470,12 @@ public class PostService {
         return slug;
     }
 
-    private String convertMarkdownToHtml(String markdown) {
-        Parser parser = Parser.builder().build();
-        HtmlRenderer renderer = HtmlRenderer.builder().build();
-        Node document = parser.parse(markdown);
-        return renderer.render(document);
-    }
-
-    private int calculateReadingTime(String content) {
-        int wordCount = content.split("\\s+").length;
-        int koreanCharCount = content.replaceAll("[^\\uAC00-\\uD7A3]", "").length();
-        int totalCount = wordCount + koreanCharCount / 2;
-        return Math.max(1, totalCount / 200);
-    }
-
-    private String generateExcerpt(String content) {
-        String plainText = content.replaceAll("[#*`\\[\\]()>-]", "").trim();
-        if (plainText.length() <= 200) {
-            return plainText;
-        }
-        return plainText.substring(0, 197) + "...";
-    }
-
-    private String resolveThumbnail(String requestedThumbnail, String contentHtml) {
+    private String resolveThumbnail(String requestedThumbnail, String firstImageUrl) {
         if (StringUtils.hasText(requestedThumbnail)) {
             return requestedThumbnail.trim();
         }
 
-        if (!StringUtils.hasText(contentHtml)) {
-            return null;
-        }
-
-        java.util.regex.Matcher matcher = java.util.regex.Pattern
-            .compile("<img[^>]+src=[\"']([^\"']+)[\"'][^>]*>", java.util.regex.Pattern.CASE_INSENSITIVE)
-            .matcher(contentHtml);
-
-        if (matcher.find()) {
-            return matcher.group(1).trim();
-        }
-
-        return null;
+        return firstImageUrl;
     }
 
     private java.util.Optional<LocalDateTime> resolvePublishedAt(String value) {
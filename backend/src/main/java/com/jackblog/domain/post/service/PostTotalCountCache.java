@@ -0,0 +1,48 @@
+package com.jackblog.domain.post.service;
+
+import com.jackblog.domain.post.event.PostChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// 커서 목록은 기본적으로 COUNT 를 건너뛰고, includeTotal 을 요청했을 때만 이 캐시를 거쳐 전체 개수를 센다
+@Component
+public class PostTotalCountCache {
+
+    private final Map<String, Long> counts = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public long get(String key, LongSupplier counter) {
+        Long cached = counts.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadedAt = generation.get();
+        long count = counter.getAsLong();
+        counts.put(key, count);
+
+        // 세는 동안 글이 추가/삭제됐다면 방금 넣은 값은 버린다
+        if (generation.get() != loadedAt) {
+            counts.remove(key);
+        }
+        return count;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getType() != PostChangedEvent.Type.CONTENT && event.getType() != PostChangedEvent.Type.DELETED) {
+            return;
+        }
+
+        generation.incrementAndGet();
+        counts.clear();
+    }
+}
@@ -0,0 +1,138 @@
+package com.jackblog.domain.post.service;
+
+import com.jackblog.common.exception.ResourceNotFoundException;
+import com.jackblog.domain.post.event.PostChangedEvent;
+import com.jackblog.domain.post.repository.PostRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+public class PostViewCountBuffer {
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, PendingViews> pendingViews = new ConcurrentHashMap<>();
+    private final Counter flushedViews;
+    private final Timer flushTimer;
+
+    public PostViewCountBuffer(
+        PostRepository postRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationEventPublisher eventPublisher,
+        MeterRegistry meterRegistry
+    ) {
+        this.postRepository = postRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+
+        Gauge.builder("jackblog.post.views.pending", this, PostViewCountBuffer::pendingViewCount)
+            .description("View increments buffered in memory and not yet written to the post table")
+            .register(meterRegistry);
+        Gauge.builder("jackblog.post.views.pending.posts", pendingViews, Map::size)
+            .description("Posts tracked by the view count buffer")
+            .register(meterRegistry);
+        this.flushedViews = Counter.builder("jackblog.post.views.flushed")
+            .description("View increments written to the post table")
+            .register(meterRegistry);
+        this.flushTimer = Timer.builder("jackblog.post.views.flush")
+            .description("Time spent writing buffered view increments")
+            .register(meterRegistry);
+    }
+
+    // SQLite 는 writer 가 하나뿐이라 조회마다 UPDATE 하지 않고 메모리에 모았다가 주기적으로 반영한다
+    public void increment(String slug) {
+        PendingViews views = pendingViews.get(slug);
+        if (views == null) {
+            // 처음 보는 slug 만 존재 여부를 확인하고, 이후에는 메모리에서만 누적한다
+            Long postId = postRepository.findIdBySlug(slug)
+                .orElseThrow(() -> ResourceNotFoundException.post(slug));
+            views = pendingViews.computeIfAbsent(slug, key -> new PendingViews(postId, key));
+        }
+        views.delta.increment();
+    }
+
+    public void discard(String slug) {
+        pendingViews.remove(slug);
+    }
+
+    public long pendingViewCount() {
+        return pendingViews.values().stream()
+            .mapToLong(views -> views.delta.sum())
+            .sum();
+    }
+
+    @Scheduled(
+        fixedDelayString = "${post.view-count.flush-interval-ms:5000}",
+        initialDelayString = "${post.view-count.flush-interval-ms:5000}"
+    )
+    public synchronized void flush() {
+        Map<PendingViews, Long> drained = drain();
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                drained.forEach((views, delta) -> {
+                    postRepository.incrementViewCount(views.postId, delta);
+                    eventPublisher.publishEvent(
+                        new PostChangedEvent(views.postId, views.slug, PostChangedEvent.Type.VIEWS, delta)
+                    );
+                })
+            );
+            flushedViews.increment(drained.values().stream().mapToLong(Long::longValue).sum());
+        } catch (RuntimeException e) {
+            // 실패한 증가분은 버리지 않고 다음 주기에 다시 시도한다
+            drained.forEach((views, delta) -> views.delta.add(delta));
+            log.warn("Failed to flush {} buffered view counts, will retry", drained.size(), e);
+        } finally {
+            flushTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private Map<PendingViews, Long> drain() {
+        Map<PendingViews, Long> drained = new HashMap<>();
+        for (PendingViews views : pendingViews.values()) {
+            // sumThenReset 은 동시에 들어온 증가분을 잃지 않고 다음 주기로 넘긴다
+            long delta = views.delta.sumThenReset();
+            if (delta > 0) {
+                drained.put(views, delta);
+            }
+        }
+        return drained;
+    }
+
+    private static final class PendingViews {
+        private final Long postId;
+        private final String slug;
+        private final LongAdder delta = new LongAdder();
+
+        private PendingViews(Long postId, String slug) {
+            this.postId = postId;
+            this.slug = slug;
+        }
+    }
+}
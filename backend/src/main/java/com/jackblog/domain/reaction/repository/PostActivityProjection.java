@@ -0,0 +1,8 @@
+package com.jackblog.domain.reaction.repository;
+
+import java.time.LocalDateTime;
+
+public interface PostActivityProjection {
+    Long getPostId();
+    LocalDateTime getCreatedAt();
+}
@@ -2,8 +2,12 @@ package com.jackblog.domain.reaction.repository;
 
 import com.jackblog.domain.reaction.entity.PostLike;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +20,7 @@ public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
     void deleteByPostIdAndClientId(Long postId, String clientId);
 
     long countByPostId(Long postId);
+
+    @Query("SELECT l.post.id AS postId, l.createdAt AS createdAt FROM PostLike l WHERE l.createdAt >= :since")
+    List<PostActivityProjection> findActivitySince(@Param("since") LocalDateTime since);
 }
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,4 +36,7 @@ public interface ReactionRepository extends JpaRepository<Reaction, Long> {
     void deleteByPostIdAndEmojiAndClientId(Long postId, String emoji, String clientId);
 
     boolean existsByPostIdAndEmojiAndClientId(Long postId, String emoji, String clientId);
+
+    @Query("SELECT r.post.id AS postId, r.createdAt AS createdAt FROM Reaction r WHERE r.createdAt >= :since")
+    List<PostActivityProjection> findActivitySince(@Param("since") LocalDateTime since);
 }
@@ -3,6 +3,7 @@ package com.jackblog.domain.reaction.service;
 import com.jackblog.common.exception.BadRequestException;
 import com.jackblog.common.exception.ResourceNotFoundException;
 import com.jackblog.domain.post.entity.Post;
+import com.jackblog.domain.post.event.PostChangedEvent;
 import com.jackblog.domain.post.repository.PostRepository;
 import com.jackblog.domain.reaction.dto.ReactionResponse;
 import com.jackblog.domain.reaction.entity.PostLike;
@@ -10,6 +11,7 @@ import com.jackblog.domain.reaction.entity.Reaction;
 import com.jackblog.domain.reaction.repository.PostLikeRepository;
 import com.jackblog.domain.reaction.repository.ReactionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +26,7 @@ public class ReactionService {
     private final ReactionRepository reactionRepository;
     private final PostLikeRepository postLikeRepository;
     private final PostRepository postRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final Set<String> ALLOWED_EMOJIS = Set.of("👍", "❤️", "🎉", "🤔", "👀", "🚀");
 
@@ -49,8 +52,10 @@ public class ReactionService {
         Optional<Reaction> existingReaction = reactionRepository
             .findByPostIdAndEmojiAndClientId(post.getId(), emoji, clientId);
 
+        long delta;
         if (existingReaction.isPresent()) {
             reactionRepository.delete(existingReaction.get());
+            delta = -1;
         } else {
             Reaction reaction = Reaction.builder()
                 .post(post)
@@ -58,8 +63,11 @@ public class ReactionService {
                 .clientId(clientId)
                 .build();
             reactionRepository.save(reaction);
+            delta = 1;
         }
 
+        eventPublisher.publishEvent(new PostChangedEvent(post.getId(), slug, PostChangedEvent.Type.REACTIONS, delta));
+
         Map<String, Long> counts = getReactionCounts(post.getId());
         List<String> userReactions = getUserReactions(post.getId(), clientId);
 
@@ -76,6 +84,8 @@ public class ReactionService {
 
         if (existingLike.isPresent()) {
             postLikeRepository.delete(existingLike.get());
+            postRepository.adjustLikeCount(post.getId(), -1);
+            eventPublisher.publishEvent(new PostChangedEvent(post.getId(), slug, PostChangedEvent.Type.LIKES, -1));
             return false;
         } else {
             PostLike like = PostLike.builder()
@@ -83,6 +93,8 @@ public class ReactionService {
                 .clientId(clientId)
                 .build();
             postLikeRepository.save(like);
+            postRepository.adjustLikeCount(post.getId(), 1);
+            eventPublisher.publishEvent(new PostChangedEvent(post.getId(), slug, PostChangedEvent.Type.LIKES, 1));
             return true;
         }
     }
@@ -96,7 +108,7 @@ public class ReactionService {
     public long getLikeCount(String slug) {
         Post post = postRepository.findBySlug(slug)
             .orElseThrow(() -> ResourceNotFoundException.post(slug));
-        return postLikeRepository.countByPostId(post.getId());
+        return post.getLikeCount();
     }
 
     private Map<String, Long> getReactionCounts(Long postId) {
@@ -3,6 +3,8 @@ package com.jackblog.domain.visitor.controller;
 import com.jackblog.common.response.ApiResponse;
 import com.jackblog.domain.visitor.dto.VisitTrackRequest;
 import com.jackblog.domain.visitor.dto.VisitTrackResponse;
+import com.jackblog.domain.visitor.dto.VisitorArchiveResponse;
+import com.jackblog.domain.visitor.dto.VisitorRouteStatResponse;
 import com.jackblog.domain.visitor.dto.VisitorStatsResponse;
 import com.jackblog.domain.visitor.dto.VisitorSummaryResponse;
 import com.jackblog.domain.visitor.service.VisitorService;
@@ -10,6 +12,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/visitors")
 @RequiredArgsConstructor
@@ -28,8 +32,10 @@ public class VisitorController {
     }
 
     @GetMapping("/stats")
-    public ResponseEntity<ApiResponse<VisitorStatsResponse>> getVisitorStats() {
-        VisitorStatsResponse stats = visitorService.getVisitorStats();
+    public ResponseEntity<ApiResponse<VisitorStatsResponse>> getVisitorStats(
+        @RequestParam(required = false) Integer days
+    ) {
+        VisitorStatsResponse stats = visitorService.getVisitorStats(days);
         return ResponseEntity.ok(ApiResponse.success(stats));
     }
 
@@ -38,4 +44,34 @@ public class VisitorController {
         VisitorSummaryResponse summary = visitorService.getVisitorSummary();
         return ResponseEntity.ok(ApiResponse.success(summary));
     }
+
+    @GetMapping("/archive")
+    public ResponseEntity<ApiResponse<VisitorArchiveResponse>> queryArchive(
+        @RequestParam String from,
+        @RequestParam String to,
+        @RequestParam(required = false) String landingPath,
+        @RequestParam(defaultValue = "1000") int limit
+    ) {
+        VisitorArchiveResponse archive = visitorService.queryArchive(from, to, landingPath, limit);
+        return ResponseEntity.ok(ApiResponse.success(archive));
+    }
+
+    @GetMapping("/top")
+    public ResponseEntity<ApiResponse<List<VisitorRouteStatResponse>>> getTopValues(
+        @RequestParam(defaultValue = "today") String window,
+        @RequestParam String dimension,
+        @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<VisitorRouteStatResponse> top = visitorService.getTopValues(window, dimension, limit);
+        return ResponseEntity.ok(ApiResponse.success(top));
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<ApiResponse<List<VisitorRouteStatResponse>>> getTrending(
+        @RequestParam String dimension,
+        @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<VisitorRouteStatResponse> trending = visitorService.getTrending(dimension, limit);
+        return ResponseEntity.ok(ApiResponse.success(trending));
+    }
 }
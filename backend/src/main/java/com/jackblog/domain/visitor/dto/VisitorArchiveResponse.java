@@ -0,0 +1,22 @@
+package com.jackblog.domain.visitor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VisitorArchiveResponse {
+    private String from;
+    private String to;
+    // 보관 파일이 있는 날짜
+    private List<String> archivedDates;
+    private List<VisitorArchiveRowResponse> rows;
+    // limit 에 걸려 일부만 돌려준 경우 true
+    private boolean truncated;
+}
@@ -0,0 +1,23 @@
+package com.jackblog.domain.visitor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 보관 파일(NDJSON) 한 줄과 같은 모양이다
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VisitorArchiveRowResponse {
+    private Long id;
+    private String clientId;
+    private String visitDate;
+    private String source;
+    private String referrerHost;
+    private String landingPath;
+    private LocalDateTime createdAt;
+}
@@ -1,5 +1,6 @@
 package com.jackblog.domain.visitor.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,7 +15,16 @@ public class VisitorStatsResponse {
     private long total;
     private long today;
     private long yesterday;
+
+    // days 로 기간을 지정한 경우에만 채워진다 (total/top 목록도 이 기간 기준)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer rangeDays;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<VisitorRouteStatResponse> daily;
+
     private List<VisitorRouteStatResponse> topSources;
     private List<VisitorRouteStatResponse> topReferrers;
     private List<VisitorRouteStatResponse> topLandingPaths;
+    // 오늘 랜딩 경로별 고유 방문자 추정치 (HyperLogLog)
+    private List<VisitorRouteStatResponse> todayLandingPathUniques;
 }
@@ -0,0 +1,14 @@
+package com.jackblog.domain.visitor.event;
+
+import com.jackblog.domain.visitor.repository.PendingVisit;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+// visitor_log 에 새로 들어간 방문들. 배치가 커밋된 뒤에 writer 스레드에서 발행된다
+@Getter
+@RequiredArgsConstructor
+public class VisitsRecordedEvent {
+    private final List<PendingVisit> visits;
+}
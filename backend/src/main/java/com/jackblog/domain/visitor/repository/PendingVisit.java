@@ -0,0 +1,22 @@
+package com.jackblog.domain.visitor.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 요청 스레드에서 정규화까지 끝낸 방문 기록. 백그라운드 writer 가 visitor_log 에 묶어서 넣는다
+@Getter
+@AllArgsConstructor
+public class PendingVisit {
+    private String clientId;
+    private String visitDate;
+    private String source;
+    private String referrerHost;
+    private String landingPath;
+    private LocalDateTime createdAt;
+
+    public String dedupeKey() {
+        return visitDate + "|" + clientId;
+    }
+}
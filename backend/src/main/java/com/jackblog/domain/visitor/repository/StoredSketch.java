@@ -0,0 +1,15 @@
+package com.jackblog.domain.visitor.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StoredSketch {
+    private String visitDate;
+    // BLOOM, HLL, PATH_HLL
+    private String type;
+    // PATH_HLL 은 랜딩 경로, 나머지는 빈 문자열
+    private String key;
+    private byte[] payload;
+}
@@ -0,0 +1,12 @@
+package com.jackblog.domain.visitor.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 롤업 조회 결과 한 줄. label 은 날짜 또는 차원 값이다
+@Getter
+@AllArgsConstructor
+public class VisitorDailyCount {
+    private String label;
+    private long count;
+}
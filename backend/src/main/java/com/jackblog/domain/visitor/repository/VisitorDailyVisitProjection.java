@@ -0,0 +1,6 @@
+package com.jackblog.domain.visitor.repository;
+
+public interface VisitorDailyVisitProjection {
+    String getClientId();
+    String getLandingPath();
+}
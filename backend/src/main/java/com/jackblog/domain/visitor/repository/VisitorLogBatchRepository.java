@@ -0,0 +1,95 @@
+package com.jackblog.domain.visitor.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+@RequiredArgsConstructor
+public class VisitorLogBatchRepository {
+
+    private static final String INSERT_PREFIX =
+        "INSERT OR IGNORE INTO visitor_log (client_id, visit_date, source, referrer_host, landing_path, created_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?)";
+    private static final String RETURNING = " RETURNING client_id, visit_date";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 여러 행을 INSERT 한 번으로 넣고, (client_id, visit_date) 제약에 걸려 무시된 행을 뺀 실제로 들어간 방문만 돌려준다
+    public List<PendingVisit> insertIgnoringDuplicates(List<PendingVisit> visits) {
+        if (visits.isEmpty()) {
+            return List.of();
+        }
+
+        String sql = INSERT_PREFIX + String.join(", ", Collections.nCopies(visits.size(), ROW_PLACEHOLDER)) + RETURNING;
+        Object[] args = new Object[visits.size() * 6];
+        int index = 0;
+        for (PendingVisit visit : visits) {
+            args[index++] = visit.getClientId();
+            args[index++] = visit.getVisitDate();
+            args[index++] = visit.getSource();
+            args[index++] = visit.getReferrerHost();
+            args[index++] = visit.getLandingPath();
+            args[index++] = Timestamp.valueOf(visit.getCreatedAt());
+        }
+
+        Set<String> inserted = new HashSet<>(jdbcTemplate.query(
+            sql,
+            (rs, rowNum) -> rs.getString("visit_date") + "|" + rs.getString("client_id"),
+            args
+        ));
+
+        List<PendingVisit> result = new ArrayList<>(inserted.size());
+        for (PendingVisit visit : visits) {
+            if (inserted.contains(visit.dedupeKey())) {
+                result.add(visit);
+            }
+        }
+        return result;
+    }
+
+    // 보관 기간이 지난 날짜 (오래된 순)
+    public List<String> findVisitDatesBefore(String visitDate) {
+        return jdbcTemplate.queryForList(
+            "SELECT DISTINCT visit_date FROM visitor_log WHERE visit_date < ? ORDER BY visit_date",
+            String.class,
+            visitDate
+        );
+    }
+
+    public void forEachByVisitDate(String visitDate, RowCallbackHandler handler) {
+        jdbcTemplate.query(
+            "SELECT id, client_id, visit_date, source, referrer_host, landing_path, created_at"
+                + " FROM visitor_log WHERE visit_date = ? ORDER BY id",
+            handler,
+            visitDate
+        );
+    }
+
+    // 한 번에 지우는 행 수를 제한해 SQLite writer 를 오래 붙잡지 않는다
+    public int deleteBatchByVisitDate(String visitDate, int limit) {
+        return jdbcTemplate.update(
+            "DELETE FROM visitor_log WHERE id IN (SELECT id FROM visitor_log WHERE visit_date = ? LIMIT ?)",
+            visitDate,
+            limit
+        );
+    }
+
+    // 0 = NONE, 1 = FULL, 2 = INCREMENTAL
+    public int autoVacuumMode() {
+        Integer mode = jdbcTemplate.queryForObject("PRAGMA auto_vacuum", Integer.class);
+        return mode == null ? 0 : mode;
+    }
+
+    public void incrementalVacuum(int pages) {
+        jdbcTemplate.execute("PRAGMA incremental_vacuum(" + pages + ")");
+    }
+}
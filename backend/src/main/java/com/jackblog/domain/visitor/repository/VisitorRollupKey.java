@@ -0,0 +1,4 @@
+package com.jackblog.domain.visitor.repository;
+
+public record VisitorRollupKey(String visitDate, String dimension, String value) {
+}
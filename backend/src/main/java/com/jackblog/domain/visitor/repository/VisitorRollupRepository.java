@@ -0,0 +1,123 @@
+package com.jackblog.domain.visitor.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+// 날짜 x 차원 x 값 -> 방문 수. 대시보드 통계는 visitor_log 대신 이 테이블만 읽는다
+@Repository
+@RequiredArgsConstructor
+public class VisitorRollupRepository {
+
+    public static final String TOTAL = "TOTAL";
+    public static final String SOURCE = "SOURCE";
+    public static final String REFERRER = "REFERRER";
+    public static final String LANDING_PATH = "LANDING_PATH";
+
+    private static final String CREATE_TABLE_SQL = """
+        CREATE TABLE IF NOT EXISTS visitor_daily_rollup (
+            visit_date VARCHAR(10) NOT NULL,
+            dimension VARCHAR(20) NOT NULL,
+            value VARCHAR(255) NOT NULL,
+            visit_count INTEGER NOT NULL,
+            PRIMARY KEY (visit_date, dimension, value)
+        )
+        """;
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO visitor_daily_rollup (visit_date, dimension, value, visit_count)
+        VALUES (?, ?, ?, ?)
+        ON CONFLICT (visit_date, dimension, value)
+        DO UPDATE SET visit_count = visit_count + excluded.visit_count
+        """;
+
+    // visitor_log 의 기존 GROUP BY 와 같은 기본값(direct, /)으로 묶는다
+    private static final String REBUILD_DATE_SQL = """
+        INSERT INTO visitor_daily_rollup (visit_date, dimension, value, visit_count)
+        SELECT visit_date, 'TOTAL', '', COUNT(*) FROM visitor_log WHERE visit_date = ? GROUP BY visit_date
+        UNION ALL
+        SELECT visit_date, 'SOURCE', COALESCE(source, 'direct'), COUNT(*)
+        FROM visitor_log WHERE visit_date = ? GROUP BY visit_date, COALESCE(source, 'direct')
+        UNION ALL
+        SELECT visit_date, 'REFERRER', COALESCE(referrer_host, 'direct'), COUNT(*)
+        FROM visitor_log WHERE visit_date = ? GROUP BY visit_date, COALESCE(referrer_host, 'direct')
+        UNION ALL
+        SELECT visit_date, 'LANDING_PATH', COALESCE(landing_path, '/'), COUNT(*)
+        FROM visitor_log WHERE visit_date = ? GROUP BY visit_date, COALESCE(landing_path, '/')
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void createTableIfNotExists() {
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+    }
+
+    public void increment(Map<VisitorRollupKey, Long> counts) {
+        jdbcTemplate.batchUpdate(
+            UPSERT_SQL,
+            List.copyOf(counts.entrySet()),
+            counts.size(),
+            (ps, entry) -> {
+                ps.setString(1, entry.getKey().visitDate());
+                ps.setString(2, entry.getKey().dimension());
+                ps.setString(3, entry.getKey().value());
+                ps.setLong(4, entry.getValue());
+            }
+        );
+    }
+
+    // 해당 날짜의 롤업을 visitor_log 에서 다시 계산한다. 원본 로그가 남아 있는 날짜에만 쓴다
+    public void rebuildDate(String visitDate) {
+        jdbcTemplate.update("DELETE FROM visitor_daily_rollup WHERE visit_date = ?", visitDate);
+        jdbcTemplate.update(REBUILD_DATE_SQL, visitDate, visitDate, visitDate, visitDate);
+    }
+
+    // 로그는 있는데 롤업이 없는 날짜 (롤업 도입 전 데이터)
+    public List<String> findDatesMissingRollup() {
+        return jdbcTemplate.queryForList(
+            """
+                SELECT DISTINCT visit_date FROM visitor_log
+                WHERE visit_date NOT IN (SELECT visit_date FROM visitor_daily_rollup WHERE dimension = 'TOTAL')
+                ORDER BY visit_date
+                """,
+            String.class
+        );
+    }
+
+    public long sumTotal(String fromDate, String toDate) {
+        Long total = jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(visit_count), 0) FROM visitor_daily_rollup"
+                + " WHERE dimension = 'TOTAL' AND visit_date BETWEEN ? AND ?",
+            Long.class,
+            fromDate,
+            toDate
+        );
+        return total == null ? 0 : total;
+    }
+
+    public List<VisitorDailyCount> findDailyTotals(String fromDate, String toDate) {
+        return jdbcTemplate.query(
+            "SELECT visit_date, visit_count FROM visitor_daily_rollup"
+                + " WHERE dimension = 'TOTAL' AND visit_date BETWEEN ? AND ? ORDER BY visit_date",
+            (rs, rowNum) -> new VisitorDailyCount(rs.getString("visit_date"), rs.getLong("visit_count")),
+            fromDate,
+            toDate
+        );
+    }
+
+    public List<VisitorDailyCount> findTopValues(String dimension, String fromDate, String toDate, int limit) {
+        return jdbcTemplate.query(
+            "SELECT value, SUM(visit_count) AS visit_count FROM visitor_daily_rollup"
+                + " WHERE dimension = ? AND visit_date BETWEEN ? AND ?"
+                + " GROUP BY value ORDER BY visit_count DESC LIMIT ?",
+            (rs, rowNum) -> new VisitorDailyCount(rs.getString("value"), rs.getLong("visit_count")),
+            dimension,
+            fromDate,
+            toDate,
+            limit
+        );
+    }
+}
@@ -1,6 +0,0 @@
-package com.jackblog.domain.visitor.repository;
-
-public interface VisitorRouteStatProjection {
-    String getLabel();
-    long getCount();
-}
@@ -0,0 +1,106 @@
+package com.jackblog.domain.visitor.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// 방문자 스케치(Bloom filter, HyperLogLog)를 날짜별로 압축해 저장한다.
+// 비어 있는 레지스터가 많은 스케치는 deflate 로 크게 줄어든다
+@Repository
+@RequiredArgsConstructor
+public class VisitorSketchRepository {
+
+    private static final String CREATE_TABLE_SQL = """
+        CREATE TABLE IF NOT EXISTS visitor_sketch (
+            visit_date VARCHAR(10) NOT NULL,
+            sketch_type VARCHAR(20) NOT NULL,
+            sketch_key VARCHAR(255) NOT NULL,
+            payload BLOB NOT NULL,
+            updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+            PRIMARY KEY (visit_date, sketch_type, sketch_key)
+        )
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void createTableIfNotExists() {
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+    }
+
+    public List<StoredSketch> findByVisitDate(String visitDate) {
+        return jdbcTemplate.query(
+            "SELECT sketch_type, sketch_key, payload FROM visitor_sketch WHERE visit_date = ?",
+            (rs, rowNum) -> new StoredSketch(
+                visitDate,
+                rs.getString("sketch_type"),
+                rs.getString("sketch_key"),
+                inflate(rs.getBytes("payload"))
+            ),
+            visitDate
+        );
+    }
+
+    public void saveAll(List<StoredSketch> sketches) {
+        jdbcTemplate.batchUpdate(
+            "INSERT OR REPLACE INTO visitor_sketch (visit_date, sketch_type, sketch_key, payload, updated_at)"
+                + " VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)",
+            sketches,
+            sketches.size(),
+            (ps, sketch) -> {
+                ps.setString(1, sketch.getVisitDate());
+                ps.setString(2, sketch.getType());
+                ps.setString(3, sketch.getKey());
+                ps.setBytes(4, deflate(sketch.getPayload()));
+            }
+        );
+    }
+
+    public int deleteBefore(String visitDate) {
+        return jdbcTemplate.update("DELETE FROM visitor_sketch WHERE visit_date < ?", visitDate);
+    }
+
+    private static byte[] deflate(byte[] payload) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(64, payload.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream output = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new UncheckedIOException(new IOException("Truncated visitor sketch payload"));
+                }
+                output.write(buffer, 0, length);
+            }
+            return output.toByteArray();
+        } catch (DataFormatException e) {
+            throw new UncheckedIOException(new IOException("Corrupted visitor sketch payload", e));
+        } finally {
+            inflater.end();
+        }
+    }
+}
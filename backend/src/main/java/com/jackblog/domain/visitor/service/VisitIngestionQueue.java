@@ -0,0 +1,188 @@
+package com.jackblog.domain.visitor.service;
+
+import com.jackblog.domain.visitor.event.VisitsRecordedEvent;
+import com.jackblog.domain.visitor.repository.PendingVisit;
+import com.jackblog.domain.visitor.repository.VisitorLogBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 방문 기록은 요청 스레드에서 큐에 넣기만 하고, 백그라운드 writer 가 모아서 한 트랜잭션에 INSERT 한다.
+// SQLite 는 writer 가 하나뿐이라 페이지 로드마다 SELECT + INSERT 트랜잭션을 여는 대신 묶어서 쓴다
+@Slf4j
+@Component
+public class VisitIngestionQueue {
+
+    private final VisitorLogBatchRepository visitorLogBatchRepository;
+    private final VisitorSketches visitorSketches;
+    private final VisitorRollups visitorRollups;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingVisit> queue;
+    // 큐에 들어갔지만 아직 쓰이지 않은 방문. 쓰기가 끝나기 전 같은 client 의 재요청을 거른다
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final int batchSize;
+    private final long offerTimeoutMs;
+
+    private final Counter acceptedVisits;
+    private final Counter duplicateVisits;
+    private final Counter droppedVisits;
+    private final Counter insertedVisits;
+    private final Timer batchTimer;
+
+    public VisitIngestionQueue(
+        VisitorLogBatchRepository visitorLogBatchRepository,
+        VisitorSketches visitorSketches,
+        VisitorRollups visitorRollups,
+        ApplicationEventPublisher eventPublisher,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${visitor.ingest.queue-capacity:10000}") int queueCapacity,
+        @Value("${visitor.ingest.batch-size:100}") int batchSize,
+        @Value("${visitor.ingest.offer-timeout-ms:20}") long offerTimeoutMs
+    ) {
+        this.visitorLogBatchRepository = visitorLogBatchRepository;
+        this.visitorSketches = visitorSketches;
+        this.visitorRollups = visitorRollups;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutMs = offerTimeoutMs;
+
+        Gauge.builder("jackblog.visitor.ingest.queue.depth", queue, BlockingQueue::size)
+            .description("Visits waiting to be written to visitor_log")
+            .register(meterRegistry);
+        this.acceptedVisits = Counter.builder("jackblog.visitor.ingest.accepted")
+            .description("Visits queued for writing")
+            .register(meterRegistry);
+        this.duplicateVisits = Counter.builder("jackblog.visitor.ingest.duplicates")
+            .description("Visits skipped because the client was already seen today")
+            .register(meterRegistry);
+        this.droppedVisits = Counter.builder("jackblog.visitor.ingest.dropped")
+            .description("Visits shed because the ingest queue was full")
+            .register(meterRegistry);
+        this.insertedVisits = Counter.builder("jackblog.visitor.ingest.inserted")
+            .description("Visits actually inserted into visitor_log")
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder("jackblog.visitor.ingest.batch")
+            .description("Time spent writing one batch of visits")
+            .register(meterRegistry);
+    }
+
+    // 새로 집계될 방문이면 true. 큐가 가득 차면 잠깐 기다린 뒤에도 자리가 없을 때 버린다.
+    // 오늘 이미 집계된 client 는 Bloom filter 에서 DB 조회 없이 걸러진다 (오탐률만큼은 새 방문도 걸러질 수 있다).
+    // Bloom filter 에는 DB 에 쓰인 뒤에만 넣으므로, 쓰지 못하고 버린 방문은 다음 요청에서 다시 시도된다
+    public boolean submit(PendingVisit visit) {
+        visitorSketches.record(visit);
+        if (visitorSketches.isRepeatVisit(visit) || !inFlight.add(visit.dedupeKey())) {
+            duplicateVisits.increment();
+            return false;
+        }
+
+        boolean queued;
+        try {
+            queued = queue.offer(visit, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+
+        if (!queued) {
+            inFlight.remove(visit.dedupeKey());
+            droppedVisits.increment();
+            return false;
+        }
+        acceptedVisits.increment();
+        return true;
+    }
+
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    @Scheduled(
+        fixedDelayString = "${visitor.ingest.flush-interval-ms:1000}",
+        initialDelayString = "${visitor.ingest.flush-interval-ms:1000}"
+    )
+    public synchronized void flush() {
+        List<PendingVisit> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            if (!write(batch)) {
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        if (!queue.isEmpty()) {
+            log.warn("Discarding {} visits that could not be written before shutdown", queue.size());
+        }
+    }
+
+    private boolean write(List<PendingVisit> batch) {
+        long startedAt = System.nanoTime();
+        try {
+            // 실제로 들어간 방문만 같은 트랜잭션에서 일별 롤업에 더한다
+            List<PendingVisit> inserted = transactionTemplate.execute(status -> {
+                List<PendingVisit> rows = visitorLogBatchRepository.insertIgnoringDuplicates(batch);
+                visitorRollups.record(rows);
+                return rows;
+            });
+            // 무시된 행도 이미 DB 에 있는 방문이므로 배치 전체를 Bloom filter 에 넣는다
+            for (PendingVisit visit : batch) {
+                visitorSketches.markVisited(visit);
+                inFlight.remove(visit.dedupeKey());
+            }
+            if (inserted != null && !inserted.isEmpty()) {
+                insertedVisits.increment(inserted.size());
+                publish(inserted);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            // 실패한 배치는 자리가 있는 만큼 큐에 되돌려 다음 주기에 다시 시도한다
+            int requeued = 0;
+            for (PendingVisit visit : batch) {
+                if (queue.offer(visit)) {
+                    requeued++;
+                } else {
+                    inFlight.remove(visit.dedupeKey());
+                    droppedVisits.increment();
+                }
+            }
+            log.warn("Failed to write {} visits, requeued {}", batch.size(), requeued, e);
+            return false;
+        } finally {
+            batchTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // 이미 커밋된 배치라 구독자 쪽 실패가 배치 재시도로 이어지지 않게 여기서 막는다
+    private void publish(List<PendingVisit> inserted) {
+        try {
+            eventPublisher.publishEvent(new VisitsRecordedEvent(inserted));
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish {} recorded visits", inserted.size(), e);
+        }
+    }
+}
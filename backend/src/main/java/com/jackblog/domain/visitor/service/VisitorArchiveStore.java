@@ -0,0 +1,103 @@
+package com.jackblog.domain.visitor.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.jackblog.domain.visitor.dto.VisitorArchiveRowResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// visitor_log 에서 보관 기간이 지난 행을 날짜별 gzip NDJSON 파일로 둔다.
+// <archive-dir>/yyyy/MM/visitor_log-yyyy-MM-dd.ndjson.gz
+@Component
+public class VisitorArchiveStore {
+
+    private final Path archiveDir;
+    private final ObjectMapper objectMapper;
+
+    public VisitorArchiveStore(
+        @Value("${visitor.archive.dir:./data/visitor-archive}") String archiveDir,
+        ObjectMapper objectMapper
+    ) {
+        this.archiveDir = Paths.get(archiveDir);
+        this.objectMapper = objectMapper;
+    }
+
+    // 쓴 행 수를 돌려준다
+    public interface RowSource {
+        long writeTo(SequenceWriter writer) throws IOException;
+    }
+
+    // 임시 파일에 다 쓴 뒤 옮겨서, 중간에 실패해도 반쯤 쓴 보관 파일이 남지 않는다
+    public long write(LocalDate visitDate, RowSource rows) {
+        Path target = pathOf(visitDate);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(target.getParent());
+            long written;
+            try (OutputStream output = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)));
+                 SequenceWriter writer = objectMapper.writerFor(VisitorArchiveRowResponse.class)
+                     .withRootValueSeparator("\n")
+                     .writeValues(output)) {
+                written = rows.writeTo(writer);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return written;
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // 다음 실행에서 덮어쓴다
+            }
+            throw new UncheckedIOException("Failed to archive visitor log for " + visitDate, e);
+        }
+    }
+
+    public boolean exists(LocalDate visitDate) {
+        return Files.isRegularFile(pathOf(visitDate));
+    }
+
+    // filter 에 맞는 행을 limit + 1 개까지만 읽는다 (넘쳤는지 호출한 쪽에서 알 수 있게)
+    public void read(LocalDate visitDate, Predicate<VisitorArchiveRowResponse> filter, List<VisitorArchiveRowResponse> sink, int limit) {
+        Path path = pathOf(visitDate);
+        if (!Files.isRegularFile(path)) {
+            return;
+        }
+
+        try (InputStream input = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(path)));
+             MappingIterator<VisitorArchiveRowResponse> rows = objectMapper.readerFor(VisitorArchiveRowResponse.class)
+                 .readValues(input)) {
+            while (rows.hasNextValue() && sink.size() <= limit) {
+                VisitorArchiveRowResponse row = rows.nextValue();
+                if (filter.test(row)) {
+                    sink.add(row);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read visitor archive for " + visitDate, e);
+        }
+    }
+
+    private Path pathOf(LocalDate visitDate) {
+        return archiveDir
+            .resolve(String.valueOf(visitDate.getYear()))
+            .resolve(String.format("%02d", visitDate.getMonthValue()))
+            .resolve("visitor_log-" + visitDate + ".ndjson.gz");
+    }
+}
@@ -0,0 +1,185 @@
+package com.jackblog.domain.visitor.service;
+
+import com.jackblog.domain.visitor.dto.VisitorArchiveRowResponse;
+import com.jackblog.domain.visitor.repository.VisitorLogBatchRepository;
+import com.jackblog.domain.visitor.repository.VisitorRollupRepository;
+import com.jackblog.domain.visitor.repository.VisitorSketchRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 보관 기간이 지난 visitor_log 를 날짜 단위로 롤업 -> 파일 보관 -> 나눠서 삭제한다.
+// 롤업과 보관 파일이 모두 만들어진 뒤에만 지운다. 삭제 도중 실패하면 일부 행은 이미 지워졌으므로,
+// 다음 실행에서는 보관 파일이 있는 날짜의 롤업/보관을 다시 만들지 않고 남은 행만 지운다
+@Slf4j
+@Component
+public class VisitorLogRetention {
+
+    private static final int AUTO_VACUUM_INCREMENTAL = 2;
+
+    private final VisitorLogBatchRepository visitorLogBatchRepository;
+    private final VisitorRollupRepository visitorRollupRepository;
+    private final VisitorSketchRepository visitorSketchRepository;
+    private final VisitorArchiveStore visitorArchiveStore;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int deleteBatchSize;
+    private final int vacuumPages;
+    private final ExecutorService executor =
+        Executors.newSingleThreadExecutor(new CustomizableThreadFactory("visitor-retention-"));
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public VisitorLogRetention(
+        VisitorLogBatchRepository visitorLogBatchRepository,
+        VisitorRollupRepository visitorRollupRepository,
+        VisitorSketchRepository visitorSketchRepository,
+        VisitorArchiveStore visitorArchiveStore,
+        PlatformTransactionManager transactionManager,
+        @Value("${visitor.retention.days:180}") int retentionDays,
+        @Value("${visitor.retention.delete-batch-size:1000}") int deleteBatchSize,
+        @Value("${visitor.retention.vacuum-pages:2000}") int vacuumPages
+    ) {
+        this.visitorLogBatchRepository = visitorLogBatchRepository;
+        this.visitorRollupRepository = visitorRollupRepository;
+        this.visitorSketchRepository = visitorSketchRepository;
+        this.visitorArchiveStore = visitorArchiveStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.deleteBatchSize = deleteBatchSize;
+        this.vacuumPages = vacuumPages;
+    }
+
+    // 파일 보관과 나눠 지우기는 오래 걸리므로 스케줄러 스레드에서는 넘기기만 해서 방문/조회수 flush 가 밀리지 않게 한다.
+    // 이전 실행이 아직 끝나지 않았으면 이번 실행은 건너뛴다
+    @Scheduled(cron = "${visitor.retention.cron:0 0 4 * * *}")
+    public void scheduleArchive() {
+        if (retentionDays <= 0 || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    archiveExpired();
+                } catch (RuntimeException e) {
+                    log.warn("Visitor log retention failed", e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // retention.days 가 0 이하이면 아무것도 지우지 않는다
+    public synchronized void archiveExpired() {
+        if (retentionDays <= 0) {
+            return;
+        }
+
+        String cutoff = LocalDate.now().minusDays(retentionDays).toString();
+        List<String> expiredDates = visitorLogBatchRepository.findVisitDatesBefore(cutoff);
+        long archivedRows = 0;
+        for (String visitDate : expiredDates) {
+            try {
+                archivedRows += archive(visitDate);
+            } catch (RuntimeException e) {
+                log.warn("Failed to archive visitor log for {}, will retry on the next run", visitDate, e);
+                return;
+            }
+        }
+
+        visitorSketchRepository.deleteBefore(cutoff);
+        if (!expiredDates.isEmpty()) {
+            vacuum();
+            log.info("Archived {} visitor log rows from {} days before {}", archivedRows, expiredDates.size(), cutoff);
+        }
+    }
+
+    private long archive(String visitDate) {
+        LocalDate date = LocalDate.parse(visitDate);
+        if (visitorArchiveStore.exists(date)) {
+            // 보관 파일에는 지워진 행까지 모두 들어 있고, 남은 행으로 롤업/파일을 다시 만들면 그 날짜가 줄어든다
+            long deleted = deleteAll(visitDate);
+            log.info("Resumed deleting {} already archived visitor log rows for {}", deleted, visitDate);
+            return deleted;
+        }
+
+        // 원본을 지우기 전에 마지막으로 롤업을 원본과 맞춘다
+        transactionTemplate.executeWithoutResult(status -> visitorRollupRepository.rebuildDate(visitDate));
+
+        long exported = visitorArchiveStore.write(date, writer -> {
+            long[] count = {0};
+            try {
+                visitorLogBatchRepository.forEachByVisitDate(visitDate, rs -> {
+                    Timestamp createdAt = rs.getTimestamp("created_at");
+                    try {
+                        writer.write(VisitorArchiveRowResponse.builder()
+                            .id(rs.getLong("id"))
+                            .clientId(rs.getString("client_id"))
+                            .visitDate(rs.getString("visit_date"))
+                            .source(rs.getString("source"))
+                            .referrerHost(rs.getString("referrer_host"))
+                            .landingPath(rs.getString("landing_path"))
+                            .createdAt(createdAt == null ? null : createdAt.toLocalDateTime())
+                            .build());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    count[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return count[0];
+        });
+
+        long deleted = deleteAll(visitDate);
+        if (deleted != exported) {
+            log.warn("Archived {} visitor log rows for {} but deleted {}", exported, visitDate, deleted);
+        }
+        return exported;
+    }
+
+    private long deleteAll(String visitDate) {
+        long deleted = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status ->
+                visitorLogBatchRepository.deleteBatchByVisitDate(visitDate, deleteBatchSize)
+            );
+            deleted += batch;
+        } while (batch == deleteBatchSize);
+        return deleted;
+    }
+
+    // auto_vacuum=INCREMENTAL 인 DB 에서만 비운 페이지를 조금씩 돌려준다.
+    // 기존 DB 는 한 번 PRAGMA auto_vacuum = INCREMENTAL; VACUUM; 을 실행해야 적용된다
+    private void vacuum() {
+        if (visitorLogBatchRepository.autoVacuumMode() != AUTO_VACUUM_INCREMENTAL) {
+            log.info("auto_vacuum is not INCREMENTAL, freed pages stay in the database file until a manual VACUUM");
+            return;
+        }
+        visitorLogBatchRepository.incrementalVacuum(vacuumPages);
+    }
+}
@@ -0,0 +1,92 @@
+package com.jackblog.domain.visitor.service;
+
+import com.jackblog.domain.visitor.repository.PendingVisit;
+import com.jackblog.domain.visitor.repository.VisitorRollupKey;
+import com.jackblog.domain.visitor.repository.VisitorRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 일별 롤업은 방문이 들어갈 때 같은 트랜잭션에서 더하고, 매일 밤 최근 며칠을 visitor_log 에서 다시 계산해 어긋난 값을 바로잡는다
+@Slf4j
+@Component
+public class VisitorRollups {
+
+    private final VisitorRollupRepository visitorRollupRepository;
+    private final VisitorArchiveStore visitorArchiveStore;
+    private final TransactionTemplate transactionTemplate;
+    private final int compactionDays;
+
+    public VisitorRollups(
+        VisitorRollupRepository visitorRollupRepository,
+        VisitorArchiveStore visitorArchiveStore,
+        PlatformTransactionManager transactionManager,
+        @Value("${visitor.rollup.compaction-days:2}") int compactionDays
+    ) {
+        this.visitorRollupRepository = visitorRollupRepository;
+        this.visitorArchiveStore = visitorArchiveStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.compactionDays = compactionDays;
+    }
+
+    // 롤업을 읽어 스케치를 채우는 다른 초기화보다 먼저 실행한다
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        visitorRollupRepository.createTableIfNotExists();
+
+        List<String> missing = visitorRollupRepository.findDatesMissingRollup();
+        for (String visitDate : missing) {
+            rebuild(visitDate);
+        }
+        if (!missing.isEmpty()) {
+            log.info("Built visitor rollups for {} days", missing.size());
+        }
+    }
+
+    // visitor_log INSERT 와 같은 트랜잭션 안에서 호출된다
+    public void record(List<PendingVisit> inserted) {
+        if (inserted.isEmpty()) {
+            return;
+        }
+
+        Map<VisitorRollupKey, Long> counts = new HashMap<>();
+        for (PendingVisit visit : inserted) {
+            String date = visit.getVisitDate();
+            counts.merge(new VisitorRollupKey(date, VisitorRollupRepository.TOTAL, ""), 1L, Long::sum);
+            counts.merge(new VisitorRollupKey(date, VisitorRollupRepository.SOURCE, visit.getSource()), 1L, Long::sum);
+            counts.merge(new VisitorRollupKey(date, VisitorRollupRepository.REFERRER, visit.getReferrerHost()), 1L, Long::sum);
+            counts.merge(new VisitorRollupKey(date, VisitorRollupRepository.LANDING_PATH, visit.getLandingPath()), 1L, Long::sum);
+        }
+        visitorRollupRepository.increment(counts);
+    }
+
+    @Scheduled(cron = "${visitor.rollup.compaction-cron:0 30 3 * * *}")
+    public void compact() {
+        LocalDate today = LocalDate.now();
+        for (int offset = 1; offset <= compactionDays; offset++) {
+            LocalDate date = today.minusDays(offset);
+            // 이미 보관되어 visitor_log 에서 지워진 날짜를 다시 계산하면 롤업이 0 이 된다
+            if (!visitorArchiveStore.exists(date)) {
+                rebuild(date.toString());
+            }
+        }
+        log.info("Compacted visitor rollups for the last {} days", compactionDays);
+    }
+
+    private void rebuild(String visitDate) {
+        transactionTemplate.executeWithoutResult(status -> visitorRollupRepository.rebuildDate(visitDate));
+    }
+}
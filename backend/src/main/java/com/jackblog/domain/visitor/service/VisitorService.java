@@ -2,80 +2,188 @@ package com.jackblog.domain.visitor.service;
 
 import com.jackblog.common.exception.BadRequestException;
 import com.jackblog.domain.visitor.dto.VisitTrackRequest;
+import com.jackblog.domain.visitor.dto.VisitorArchiveResponse;
+import com.jackblog.domain.visitor.dto.VisitorArchiveRowResponse;
 import com.jackblog.domain.visitor.dto.VisitorRouteStatResponse;
 import com.jackblog.domain.visitor.dto.VisitorStatsResponse;
 import com.jackblog.domain.visitor.dto.VisitorSummaryResponse;
-import com.jackblog.domain.visitor.entity.VisitorLog;
-import com.jackblog.domain.visitor.repository.VisitorLogRepository;
-import com.jackblog.domain.visitor.repository.VisitorRouteStatProjection;
+import com.jackblog.domain.visitor.repository.PendingVisit;
+import com.jackblog.domain.visitor.repository.VisitorDailyCount;
+import com.jackblog.domain.visitor.repository.VisitorRollupRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class VisitorService {
 
-    private final VisitorLogRepository visitorLogRepository;
+    private static final int MAX_RANGE_DAYS = 366;
+    private static final int TOP_LIMIT = 5;
+    private static final String FIRST_DATE = "0000-01-01";
+    private static final int MAX_ARCHIVE_QUERY_DAYS = 92;
+    private static final int MAX_ARCHIVE_ROWS = 10_000;
 
-    @Transactional
+    private final VisitorRollupRepository visitorRollupRepository;
+    private final VisitIngestionQueue visitIngestionQueue;
+    private final VisitorSketches visitorSketches;
+    private final VisitorArchiveStore visitorArchiveStore;
+    private final VisitorTopK visitorTopK;
+
+    // DB 에는 바로 쓰지 않고 큐에 넣는다. 같은 날 중복 방문은 메모리와 UNIQUE 제약에서 걸러진다
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public boolean trackVisit(VisitTrackRequest request) {
         if (request == null || !StringUtils.hasText(request.getClientId())) {
             throw new BadRequestException("clientId is required");
         }
 
         String normalizedClientId = request.getClientId().trim();
-        String today = LocalDate.now().toString();
+        String clientId = normalizedClientId.length() > 255 ? normalizedClientId.substring(0, 255) : normalizedClientId;
+
+        return visitIngestionQueue.submit(new PendingVisit(
+            clientId,
+            LocalDate.now().toString(),
+            normalizeSource(request.getSource()),
+            normalizeReferrerHost(request.getReferrerHost()),
+            normalizeLandingPath(request.getLandingPath()),
+            LocalDateTime.now()
+        ));
+    }
 
-        if (visitorLogRepository.existsByClientIdAndVisitDate(normalizedClientId, today)) {
-            return false;
+    // 통계는 visitor_log 를 스캔하지 않고 일별 롤업만 읽는다. days 가 없으면 전체 기간이고, 상위 목록은 top-k 스케치로 답한다
+    public VisitorStatsResponse getVisitorStats(Integer days) {
+        if (days != null && (days < 1 || days > MAX_RANGE_DAYS)) {
+            throw new BadRequestException("days must be between 1 and " + MAX_RANGE_DAYS);
         }
 
-        visitorLogRepository.save(
-            VisitorLog.builder()
-                .clientId(normalizedClientId)
-                .visitDate(today)
-                .source(normalizeSource(request.getSource()))
-                .referrerHost(normalizeReferrerHost(request.getReferrerHost()))
-                .landingPath(normalizeLandingPath(request.getLandingPath()))
-                .build()
-        );
-        return true;
-    }
-
-    public VisitorStatsResponse getVisitorStats() {
         VisitorSummaryResponse summary = getVisitorSummary();
-        PageRequest topFive = PageRequest.of(0, 5);
+        LocalDate todayDate = LocalDate.now();
+        String today = todayDate.toString();
+        String from = days == null ? FIRST_DATE : todayDate.minusDays(days - 1).toString();
 
         return VisitorStatsResponse.builder()
-            .total(summary.getTotal())
+            .total(days == null ? summary.getTotal() : visitorRollupRepository.sumTotal(from, today))
             .today(summary.getToday())
             .yesterday(summary.getYesterday())
-            .topSources(mapRouteStats(visitorLogRepository.findTopSources(topFive)))
-            .topReferrers(mapRouteStats(visitorLogRepository.findTopReferrers(topFive)))
-            .topLandingPaths(mapRouteStats(visitorLogRepository.findTopLandingPaths(topFive)))
+            .rangeDays(days)
+            .daily(days == null ? null : dailySeries(todayDate, days))
+            .topSources(topValues(VisitorTopK.Dimension.SOURCE, VisitorRollupRepository.SOURCE, days, from, today))
+            .topReferrers(topValues(VisitorTopK.Dimension.REFERRER, VisitorRollupRepository.REFERRER, days, from, today))
+            .topLandingPaths(topValues(VisitorTopK.Dimension.LANDING_PATH, VisitorRollupRepository.LANDING_PATH, days, from, today))
+            .todayLandingPathUniques(visitorSketches.estimatePathUniques(today, TOP_LIMIT)
+                .stream()
+                .map(entry -> VisitorRouteStatResponse.builder()
+                    .label(entry.getKey())
+                    .count(entry.getValue())
+                    .build())
+                .toList())
             .build();
     }
 
+    public List<VisitorRouteStatResponse> getTopValues(String window, String dimension, int limit) {
+        return visitorTopK.top(VisitorTopK.Window.parse(window), VisitorTopK.Dimension.parse(dimension), limit);
+    }
+
+    public List<VisitorRouteStatResponse> getTrending(String dimension, int limit) {
+        return visitorTopK.trending(VisitorTopK.Dimension.parse(dimension), limit);
+    }
+
     public VisitorSummaryResponse getVisitorSummary() {
         LocalDate todayDate = LocalDate.now();
         String today = todayDate.toString();
         String yesterday = todayDate.minusDays(1).toString();
 
+        // 오늘/어제는 HyperLogLog 추정치로 바로 답하고, 스케치가 없을 때만 롤업을 읽는다
         return VisitorSummaryResponse.builder()
-            .total(visitorLogRepository.count())
-            .today(visitorLogRepository.countByVisitDate(today))
-            .yesterday(visitorLogRepository.countByVisitDate(yesterday))
+            .total(visitorRollupRepository.sumTotal(FIRST_DATE, today))
+            .today(visitorSketches.estimateUniques(today).orElseGet(() -> visitorRollupRepository.sumTotal(today, today)))
+            .yesterday(visitorSketches.estimateUniques(yesterday).orElseGet(() -> visitorRollupRepository.sumTotal(yesterday, yesterday)))
             .build();
     }
 
-    private List<VisitorRouteStatResponse> mapRouteStats(List<VisitorRouteStatProjection> stats) {
+    // 보관 파일만 읽으므로 DB 연결을 잡지 않는다
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public VisitorArchiveResponse queryArchive(String from, String to, String landingPath, int limit) {
+        LocalDate fromDate = parseDate(from);
+        LocalDate toDate = parseDate(to);
+        if (toDate.isBefore(fromDate) || ChronoUnit.DAYS.between(fromDate, toDate) >= MAX_ARCHIVE_QUERY_DAYS) {
+            throw new BadRequestException("Archive range must be between 1 and " + MAX_ARCHIVE_QUERY_DAYS + " days");
+        }
+        if (limit < 1 || limit > MAX_ARCHIVE_ROWS) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_ARCHIVE_ROWS);
+        }
+
+        String normalizedPath = StringUtils.hasText(landingPath) ? normalizeLandingPath(landingPath) : null;
+        Predicate<VisitorArchiveRowResponse> filter = normalizedPath == null
+            ? row -> true
+            : row -> normalizedPath.equals(row.getLandingPath());
+
+        List<String> archivedDates = new ArrayList<>();
+        List<VisitorArchiveRowResponse> rows = new ArrayList<>();
+        for (LocalDate date = fromDate; !date.isAfter(toDate) && rows.size() <= limit; date = date.plusDays(1)) {
+            if (visitorArchiveStore.exists(date)) {
+                archivedDates.add(date.toString());
+                visitorArchiveStore.read(date, filter, rows, limit);
+            }
+        }
+
+        boolean truncated = rows.size() > limit;
+        return VisitorArchiveResponse.builder()
+            .from(fromDate.toString())
+            .to(toDate.toString())
+            .archivedDates(archivedDates)
+            .rows(truncated ? List.copyOf(rows.subList(0, limit)) : rows)
+            .truncated(truncated)
+            .build();
+    }
+
+    // 방문이 없는 날도 0 으로 채워 그래프가 바로 그릴 수 있게 한다
+    private List<VisitorRouteStatResponse> dailySeries(LocalDate today, int days) {
+        LocalDate from = today.minusDays(days - 1);
+        Map<String, Long> counts = new HashMap<>();
+        for (VisitorDailyCount daily : visitorRollupRepository.findDailyTotals(from.toString(), today.toString())) {
+            counts.put(daily.getLabel(), daily.getCount());
+        }
+
+        List<VisitorRouteStatResponse> series = new ArrayList<>(days);
+        for (LocalDate date = from; !date.isAfter(today); date = date.plusDays(1)) {
+            String label = date.toString();
+            series.add(VisitorRouteStatResponse.builder()
+                .label(label)
+                .count(counts.getOrDefault(label, 0L))
+                .build());
+        }
+        return series;
+    }
+
+    // 임의 기간은 스케치로 나눌 수 없으므로 롤업에서 직접 구한다
+    private List<VisitorRouteStatResponse> topValues(
+        VisitorTopK.Dimension dimension,
+        String rollupDimension,
+        Integer days,
+        String from,
+        String to
+    ) {
+        if (days == null) {
+            return visitorTopK.top(VisitorTopK.Window.ALL, dimension, TOP_LIMIT);
+        }
+        return mapRouteStats(visitorRollupRepository.findTopValues(rollupDimension, from, to, TOP_LIMIT));
+    }
+
+    private List<VisitorRouteStatResponse> mapRouteStats(List<VisitorDailyCount> stats) {
         return stats.stream()
             .map(item -> VisitorRouteStatResponse.builder()
                 .label(item.getLabel())
@@ -84,6 +192,14 @@ public class VisitorService {
             .toList();
     }
 
+    private LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new BadRequestException("Invalid date: " + value);
+        }
+    }
+
     private String normalizeSource(String source) {
         if (!StringUtils.hasText(source)) {
             return "direct";
@@ -0,0 +1,227 @@
+package com.jackblog.domain.visitor.service;
+
+import com.jackblog.common.sketch.BloomFilter;
+import com.jackblog.common.sketch.HyperLogLog;
+import com.jackblog.domain.visitor.repository.PendingVisit;
+import com.jackblog.domain.visitor.repository.StoredSketch;
+import com.jackblog.domain.visitor.repository.VisitorDailyVisitProjection;
+import com.jackblog.domain.visitor.repository.VisitorLogRepository;
+import com.jackblog.domain.visitor.repository.VisitorSketchRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 날짜별 방문자 스케치. Bloom filter 는 오늘 이미 집계된 client 를 DB 조회 없이 거르고,
+// HyperLogLog 는 날짜별/랜딩 경로별 고유 방문자 수를 O(1) 로 추정한다
+@Slf4j
+@Component
+public class VisitorSketches {
+
+    private static final String BLOOM = "BLOOM";
+    private static final String HLL = "HLL";
+    private static final String PATH_HLL = "PATH_HLL";
+
+    private static final int HLL_PRECISION = 12;
+    // 경로별 스케치는 개수가 많아 1KB 짜리로 작게 두고, 하루에 추적할 경로 수도 제한한다
+    private static final int PATH_HLL_PRECISION = 10;
+    private static final int MAX_PATHS_PER_DAY = 1000;
+    // 오늘과 어제만 메모리에 둔다
+    private static final int DAYS_IN_MEMORY = 2;
+
+    private final VisitorSketchRepository visitorSketchRepository;
+    private final VisitorLogRepository visitorLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long expectedDailyVisitors;
+    private final double falsePositiveRate;
+    private final Map<String, DaySketch> days = new ConcurrentHashMap<>();
+
+    public VisitorSketches(
+        VisitorSketchRepository visitorSketchRepository,
+        VisitorLogRepository visitorLogRepository,
+        PlatformTransactionManager transactionManager,
+        @Value("${visitor.sketch.expected-daily-visitors:100000}") long expectedDailyVisitors,
+        @Value("${visitor.sketch.false-positive-rate:0.001}") double falsePositiveRate
+    ) {
+        this.visitorSketchRepository = visitorSketchRepository;
+        this.visitorLogRepository = visitorLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expectedDailyVisitors = expectedDailyVisitors;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    // 저장된 스케치를 읽고 visitor_log 의 같은 날 기록을 다시 넣는다.
+    // 스케치는 같은 값을 여러 번 넣어도 결과가 같아서, 마지막 저장 이후 비정상 종료로 빠진 방문도 채워진다
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        visitorSketchRepository.createTableIfNotExists();
+
+        LocalDate today = LocalDate.now();
+        for (int offset = 0; offset < DAYS_IN_MEMORY; offset++) {
+            String date = today.minusDays(offset).toString();
+            DaySketch loaded = load(date);
+            days.merge(date, loaded, DaySketch::mergeFrom);
+        }
+        log.info("Loaded visitor sketches for {}", days.keySet());
+    }
+
+    public boolean isRepeatVisit(PendingVisit visit) {
+        return day(visit.getVisitDate()).visitors.mightContain(visit.getClientId());
+    }
+
+    public void markVisited(PendingVisit visit) {
+        DaySketch day = day(visit.getVisitDate());
+        if (day.visitors.put(visit.getClientId())) {
+            day.dirty = true;
+        }
+    }
+
+    // 중복 방문이어도 HyperLogLog 에는 넣는다. 같은 client 는 한 번만 세지고, 경로별 고유 방문자에는 반영된다
+    public void record(PendingVisit visit) {
+        DaySketch day = day(visit.getVisitDate());
+        boolean changed = day.uniques.add(visit.getClientId());
+
+        HyperLogLog path = day.paths.get(visit.getLandingPath());
+        if (path == null && day.paths.size() < MAX_PATHS_PER_DAY) {
+            path = day.paths.computeIfAbsent(visit.getLandingPath(), key -> new HyperLogLog(PATH_HLL_PRECISION));
+        }
+        if (path != null) {
+            changed |= path.add(visit.getClientId());
+        }
+
+        if (changed) {
+            day.dirty = true;
+        }
+    }
+
+    public OptionalLong estimateUniques(String visitDate) {
+        DaySketch day = days.get(visitDate);
+        return day == null ? OptionalLong.empty() : OptionalLong.of(day.uniques.estimate());
+    }
+
+    // 랜딩 경로별 고유 방문자 추정치를 많은 순으로 돌려준다
+    public List<Map.Entry<String, Long>> estimatePathUniques(String visitDate, int limit) {
+        DaySketch day = days.get(visitDate);
+        if (day == null) {
+            return List.of();
+        }
+
+        List<Map.Entry<String, Long>> estimates = new ArrayList<>(day.paths.size());
+        day.paths.forEach((path, sketch) -> estimates.add(Map.entry(path, sketch.estimate())));
+        estimates.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        return estimates.size() > limit ? estimates.subList(0, limit) : estimates;
+    }
+
+    @Scheduled(
+        fixedDelayString = "${visitor.sketch.checkpoint-interval-ms:60000}",
+        initialDelayString = "${visitor.sketch.checkpoint-interval-ms:60000}"
+    )
+    public synchronized void checkpoint() {
+        List<StoredSketch> changed = new ArrayList<>();
+        List<DaySketch> saved = new ArrayList<>();
+        days.forEach((date, day) -> {
+            if (!day.dirty) {
+                return;
+            }
+            // 저장하는 동안 들어온 변경은 다음 주기에 다시 저장되도록 먼저 표시를 지운다
+            day.dirty = false;
+            saved.add(day);
+            changed.add(new StoredSketch(date, BLOOM, "", day.visitors.toBytes()));
+            changed.add(new StoredSketch(date, HLL, "", day.uniques.toBytes()));
+            day.paths.forEach((path, sketch) -> changed.add(new StoredSketch(date, PATH_HLL, path, sketch.toBytes())));
+        });
+
+        if (!changed.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> visitorSketchRepository.saveAll(changed));
+            } catch (RuntimeException e) {
+                saved.forEach(day -> day.dirty = true);
+                log.warn("Failed to checkpoint visitor sketches, will retry", e);
+            }
+        }
+
+        evictOldDays();
+    }
+
+    @PreDestroy
+    public void checkpointOnShutdown() {
+        checkpoint();
+    }
+
+    private DaySketch day(String visitDate) {
+        return days.computeIfAbsent(visitDate, date -> newDay());
+    }
+
+    private DaySketch newDay() {
+        return new DaySketch(BloomFilter.create(expectedDailyVisitors, falsePositiveRate), new HyperLogLog(HLL_PRECISION));
+    }
+
+    private DaySketch load(String visitDate) {
+        DaySketch day = newDay();
+        for (StoredSketch stored : visitorSketchRepository.findByVisitDate(visitDate)) {
+            try {
+                switch (stored.getType()) {
+                    case BLOOM -> day.visitors.merge(BloomFilter.fromBytes(stored.getPayload()));
+                    case HLL -> day.uniques.merge(HyperLogLog.fromBytes(stored.getPayload()));
+                    case PATH_HLL -> day.paths.put(stored.getKey(), HyperLogLog.fromBytes(stored.getPayload()));
+                    default -> log.warn("Ignoring unknown visitor sketch type {}", stored.getType());
+                }
+            } catch (RuntimeException e) {
+                // 설정이 바뀌어 크기가 다른 스케치는 버리고 visitor_log 로 다시 채운다
+                log.warn("Ignoring unreadable {} sketch for {}", stored.getType(), visitDate, e);
+            }
+        }
+
+        for (VisitorDailyVisitProjection visit : visitorLogRepository.findDailyVisits(visitDate)) {
+            day.visitors.put(visit.getClientId());
+            day.uniques.add(visit.getClientId());
+            String landingPath = visit.getLandingPath() == null ? "/" : visit.getLandingPath();
+            if (day.paths.containsKey(landingPath) || day.paths.size() < MAX_PATHS_PER_DAY) {
+                day.paths.computeIfAbsent(landingPath, key -> new HyperLogLog(PATH_HLL_PRECISION)).add(visit.getClientId());
+            }
+        }
+        day.dirty = true;
+        return day;
+    }
+
+    private void evictOldDays() {
+        String oldest = LocalDate.now().minusDays(DAYS_IN_MEMORY - 1).toString();
+        days.entrySet().removeIf(entry -> entry.getKey().compareTo(oldest) < 0 && !entry.getValue().dirty);
+    }
+
+    private static final class DaySketch {
+        private final BloomFilter visitors;
+        private final HyperLogLog uniques;
+        private final Map<String, HyperLogLog> paths = new ConcurrentHashMap<>();
+        private volatile boolean dirty;
+
+        private DaySketch(BloomFilter visitors, HyperLogLog uniques) {
+            this.visitors = visitors;
+            this.uniques = uniques;
+        }
+
+        private DaySketch mergeFrom(DaySketch other) {
+            visitors.merge(other.visitors);
+            uniques.merge(other.uniques);
+            other.paths.forEach((path, sketch) -> paths.merge(path, sketch, (current, loaded) -> {
+                current.merge(loaded);
+                return current;
+            }));
+            dirty = true;
+            return this;
+        }
+    }
+}
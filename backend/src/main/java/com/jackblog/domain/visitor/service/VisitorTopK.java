@@ -0,0 +1,242 @@
+package com.jackblog.domain.visitor.service;
+
+import com.jackblog.common.exception.BadRequestException;
+import com.jackblog.common.sketch.SpaceSaving;
+import com.jackblog.domain.visitor.dto.VisitorRouteStatResponse;
+import com.jackblog.domain.visitor.event.VisitsRecordedEvent;
+import com.jackblog.domain.visitor.repository.PendingVisit;
+import com.jackblog.domain.visitor.repository.VisitorDailyCount;
+import com.jackblog.domain.visitor.repository.VisitorRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+// 유입 경로/리퍼러/랜딩 경로의 상위 K 개를 Space-Saving 스케치로 오늘/이번 주/전체 기간별로 들고 있는다.
+// 최근 windowMinutes 분의 "지금 뜨는" 목록은 작은 버킷들을 링 버퍼로 돌려 가며 합친다
+@Slf4j
+@Component
+public class VisitorTopK {
+
+    public enum Dimension {
+        SOURCE(VisitorRollupRepository.SOURCE, PendingVisit::getSource),
+        REFERRER(VisitorRollupRepository.REFERRER, PendingVisit::getReferrerHost),
+        LANDING_PATH(VisitorRollupRepository.LANDING_PATH, PendingVisit::getLandingPath);
+
+        private final String rollupDimension;
+        private final Function<PendingVisit, String> value;
+
+        Dimension(String rollupDimension, Function<PendingVisit, String> value) {
+            this.rollupDimension = rollupDimension;
+            this.value = value;
+        }
+
+        public static Dimension parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new BadRequestException("dimension must be one of source, referrer, landing_path");
+            }
+        }
+    }
+
+    public enum Window {
+        TODAY,
+        WEEK,
+        ALL;
+
+        public static Window parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new BadRequestException("window must be one of today, week, all");
+            }
+        }
+    }
+
+    private static final String FIRST_DATE = "0000-01-01";
+    private static final int MAX_LIMIT = 50;
+
+    private final VisitorRollupRepository visitorRollupRepository;
+    private final int capacity;
+    private final long bucketMillis;
+    private final TrendingBucket[] trendingBuckets;
+
+    private final AtomicReference<PeriodSketches> today = new AtomicReference<>();
+    private final AtomicReference<PeriodSketches> week = new AtomicReference<>();
+    private final Map<Dimension, SpaceSaving> allTime;
+
+    public VisitorTopK(
+        VisitorRollupRepository visitorRollupRepository,
+        @Value("${visitor.top-k.capacity:100}") int capacity,
+        @Value("${visitor.trending.window-minutes:60}") int windowMinutes,
+        @Value("${visitor.trending.bucket-minutes:5}") int bucketMinutes
+    ) {
+        this.visitorRollupRepository = visitorRollupRepository;
+        this.capacity = capacity;
+        this.bucketMillis = TimeUnit.MINUTES.toMillis(bucketMinutes);
+        this.trendingBuckets = new TrendingBucket[Math.max(1, windowMinutes / bucketMinutes)];
+        this.allTime = newSketches();
+
+        LocalDate now = LocalDate.now();
+        today.set(new PeriodSketches(now.toString(), newSketches()));
+        week.set(new PeriodSketches(weekOf(now), newSketches()));
+    }
+
+    // 롤업이 만들어진 뒤에 기존 집계로 스케치를 채운다
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        LocalDate now = LocalDate.now();
+        String todayDate = now.toString();
+        PeriodSketches currentToday = today.get();
+        PeriodSketches currentWeek = week.get();
+
+        for (Dimension dimension : Dimension.values()) {
+            seed(allTime.get(dimension), dimension, FIRST_DATE, todayDate);
+            if (currentWeek.period.equals(weekOf(now))) {
+                seed(currentWeek.sketches.get(dimension), dimension, currentWeek.period, todayDate);
+            }
+            if (currentToday.period.equals(todayDate)) {
+                seed(currentToday.sketches.get(dimension), dimension, todayDate, todayDate);
+            }
+        }
+        log.info("Seeded visitor top-k sketches from daily rollups");
+    }
+
+    @EventListener
+    public void onVisitsRecorded(VisitsRecordedEvent event) {
+        long bucket = System.currentTimeMillis() / bucketMillis;
+        for (PendingVisit visit : event.getVisits()) {
+            LocalDate visitDate = LocalDate.parse(visit.getVisitDate());
+            PeriodSketches todaySketches = current(today, visit.getVisitDate());
+            PeriodSketches weekSketches = current(week, weekOf(visitDate));
+
+            for (Dimension dimension : Dimension.values()) {
+                String value = dimension.value.apply(visit);
+                allTime.get(dimension).offer(value, 1);
+                if (todaySketches != null) {
+                    todaySketches.sketches.get(dimension).offer(value, 1);
+                }
+                if (weekSketches != null) {
+                    weekSketches.sketches.get(dimension).offer(value, 1);
+                }
+            }
+            recordTrending(bucket, visit);
+        }
+    }
+
+    public List<VisitorRouteStatResponse> top(Window window, Dimension dimension, int limit) {
+        validateLimit(limit);
+        SpaceSaving sketch = switch (window) {
+            case ALL -> allTime.get(dimension);
+            case WEEK -> sketchIfCurrent(week.get(), weekOf(LocalDate.now()), dimension);
+            case TODAY -> sketchIfCurrent(today.get(), LocalDate.now().toString(), dimension);
+        };
+        return sketch == null ? List.of() : toResponses(sketch.top(limit));
+    }
+
+    // 최근 window 안의 버킷만 합친다. 버킷은 작고 몇 개 안 되므로 요청마다 합쳐도 가볍다
+    public List<VisitorRouteStatResponse> trending(Dimension dimension, int limit) {
+        validateLimit(limit);
+        long currentBucket = System.currentTimeMillis() / bucketMillis;
+        SpaceSaving merged = new SpaceSaving(capacity);
+        synchronized (trendingBuckets) {
+            for (TrendingBucket bucket : trendingBuckets) {
+                if (bucket != null && currentBucket - bucket.index < trendingBuckets.length) {
+                    merged.merge(bucket.sketches.get(dimension));
+                }
+            }
+        }
+        return toResponses(merged.top(limit));
+    }
+
+    private void recordTrending(long bucketIndex, PendingVisit visit) {
+        synchronized (trendingBuckets) {
+            int slot = (int) (bucketIndex % trendingBuckets.length);
+            TrendingBucket bucket = trendingBuckets[slot];
+            if (bucket == null || bucket.index != bucketIndex) {
+                bucket = new TrendingBucket(bucketIndex, newSketches());
+                trendingBuckets[slot] = bucket;
+            }
+            for (Dimension dimension : Dimension.values()) {
+                bucket.sketches.get(dimension).offer(dimension.value.apply(visit), 1);
+            }
+        }
+    }
+
+    // 기간이 바뀌면 새 스케치로 갈아끼운다. 이미 지난 기간의 늦게 도착한 방문은 null 을 돌려 버린다
+    private PeriodSketches current(AtomicReference<PeriodSketches> reference, String period) {
+        while (true) {
+            PeriodSketches current = reference.get();
+            int compared = period.compareTo(current.period);
+            if (compared == 0) {
+                return current;
+            }
+            if (compared < 0) {
+                return null;
+            }
+            PeriodSketches next = new PeriodSketches(period, newSketches());
+            if (reference.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private SpaceSaving sketchIfCurrent(PeriodSketches sketches, String period, Dimension dimension) {
+        return sketches.period.equals(period) ? sketches.sketches.get(dimension) : null;
+    }
+
+    private void seed(SpaceSaving sketch, Dimension dimension, String fromDate, String toDate) {
+        for (VisitorDailyCount count : visitorRollupRepository.findTopValues(dimension.rollupDimension, fromDate, toDate, capacity)) {
+            sketch.offer(count.getLabel(), count.getCount());
+        }
+    }
+
+    private Map<Dimension, SpaceSaving> newSketches() {
+        Map<Dimension, SpaceSaving> sketches = new EnumMap<>(Dimension.class);
+        for (Dimension dimension : Dimension.values()) {
+            sketches.put(dimension, new SpaceSaving(capacity));
+        }
+        return sketches;
+    }
+
+    private static void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    private static List<VisitorRouteStatResponse> toResponses(List<SpaceSaving.Entry> entries) {
+        return entries.stream()
+            .map(entry -> VisitorRouteStatResponse.builder()
+                .label(entry.item())
+                .count(entry.count())
+                .build())
+            .toList();
+    }
+
+    private static String weekOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toString();
+    }
+
+    private record PeriodSketches(String period, Map<Dimension, SpaceSaving> sketches) {
+    }
+
+    private record TrendingBucket(long index, Map<Dimension, SpaceSaving> sketches) {
+    }
+}
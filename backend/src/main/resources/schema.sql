@@ -12,7 +12,14 @@ CREATE TABLE IF NOT EXISTS post (
     excerpt VARCHAR(500),
     category VARCHAR(100) NOT NULL,
     reading_time INTEGER,
+    word_count INTEGER,
+    hangul_count INTEGER,
+    first_image_url VARCHAR(1000),
+    table_of_contents TEXT,
+    outbound_links TEXT,
     view_count INTEGER DEFAULT 0,
+    comment_count INTEGER NOT NULL DEFAULT 0,
+    like_count INTEGER NOT NULL DEFAULT 0,
     is_published BOOLEAN DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
@@ -57,6 +64,16 @@ CREATE TABLE IF NOT EXISTS post_like (
     UNIQUE(post_id, client_id)
 );
 
+-- 글별 시간 단위 조회/좋아요/반응 수 (hour = epoch 기준 시간 수)
+CREATE TABLE IF NOT EXISTS post_hourly_stat (
+    post_id INTEGER NOT NULL,
+    hour INTEGER NOT NULL,
+    views INTEGER NOT NULL DEFAULT 0,
+    likes INTEGER NOT NULL DEFAULT 0,
+    reactions INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (post_id, hour)
+) WITHOUT ROWID;
+
 -- Visitor 로그 테이블
 CREATE TABLE IF NOT EXISTS visitor_log (
     id INTEGER PRIMARY KEY AUTOINCREMENT,
@@ -69,6 +86,25 @@ CREATE TABLE IF NOT EXISTS visitor_log (
     UNIQUE(client_id, visit_date)
 );
 
+-- 방문자 스케치 (Bloom filter / HyperLogLog, deflate 압축)
+CREATE TABLE IF NOT EXISTS visitor_sketch (
+    visit_date VARCHAR(10) NOT NULL,
+    sketch_type VARCHAR(20) NOT NULL,
+    sketch_key VARCHAR(255) NOT NULL,
+    payload BLOB NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (visit_date, sketch_type, sketch_key)
+);
+
+-- 방문자 일별 롤업 (날짜 x 차원 x 값 -> 방문 수)
+CREATE TABLE IF NOT EXISTS visitor_daily_rollup (
+    visit_date VARCHAR(10) NOT NULL,
+    dimension VARCHAR(20) NOT NULL,
+    value VARCHAR(255) NOT NULL,
+    visit_count INTEGER NOT NULL,
+    PRIMARY KEY (visit_date, dimension, value)
+);
+
 -- Category Tree 설정 테이블
 CREATE TABLE IF NOT EXISTS category_tree_config (
     id INTEGER PRIMARY KEY,
@@ -76,12 +112,20 @@ CREATE TABLE IF NOT EXISTS category_tree_config (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- 검색용 FTS5 인덱스 (기동 시 자동 생성/재구축, POST /api/posts/search/rebuild 로 수동 재구축)
+CREATE VIRTUAL TABLE IF NOT EXISTS post_fts USING fts5(
+    title, excerpt, content, categories,
+    tokenize = 'trigram'
+);
+
 -- 인덱스 생성
 CREATE INDEX IF NOT EXISTS idx_post_slug ON post(slug);
 CREATE INDEX IF NOT EXISTS idx_post_category ON post(category);
 CREATE INDEX IF NOT EXISTS idx_post_categories_post_id ON post_categories(post_id);
-CREATE INDEX IF NOT EXISTS idx_post_categories_name ON post_categories(category_name);
+CREATE INDEX IF NOT EXISTS idx_post_categories_name_post ON post_categories(category_name, post_id);
 CREATE INDEX IF NOT EXISTS idx_post_published ON post(is_published);
+CREATE INDEX IF NOT EXISTS idx_post_published_at_id ON post(is_published, published_at, id);
+CREATE INDEX IF NOT EXISTS idx_post_created_at_id ON post(created_at, id);
 CREATE INDEX IF NOT EXISTS idx_comment_post_id ON comment(post_id);
 CREATE INDEX IF NOT EXISTS idx_comment_parent_id ON comment(parent_id);
 CREATE INDEX IF NOT EXISTS idx_reaction_post_id ON reaction(post_id);
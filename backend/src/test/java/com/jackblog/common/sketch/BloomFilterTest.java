@@ -0,0 +1,83 @@
+package com.jackblog.common.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    @Test
+    void containsEveryInsertedValue() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+        for (int index = 0; index < 1_000; index++) {
+            filter.put("visitor-" + index);
+        }
+
+        for (int index = 0; index < 1_000; index++) {
+            assertThat(filter.mightContain("visitor-" + index)).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredRate() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+        for (int index = 0; index < 1_000; index++) {
+            filter.put("visitor-" + index);
+        }
+
+        int falsePositives = 0;
+        for (int index = 0; index < 10_000; index++) {
+            if (filter.mightContain("stranger-" + index)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void putReportsOnlyNewValues() {
+        BloomFilter filter = BloomFilter.create(100, 0.01);
+
+        assertThat(filter.put("a")).isTrue();
+        assertThat(filter.put("a")).isFalse();
+    }
+
+    @Test
+    void mergeKeepsValuesFromBothFilters() {
+        BloomFilter left = BloomFilter.create(1_000, 0.01);
+        BloomFilter right = BloomFilter.create(1_000, 0.01);
+        left.put("left");
+        right.put("right");
+
+        left.merge(right);
+
+        assertThat(left.mightContain("left")).isTrue();
+        assertThat(left.mightContain("right")).isTrue();
+        assertThat(right.mightContain("left")).isFalse();
+    }
+
+    @Test
+    void mergeRejectsFiltersOfDifferentSize() {
+        BloomFilter small = BloomFilter.create(100, 0.01);
+        BloomFilter large = BloomFilter.create(10_000, 0.01);
+
+        assertThatThrownBy(() -> small.merge(large)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void bytesRoundTripKeepsAllBits() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+        for (int index = 0; index < 500; index++) {
+            filter.put("visitor-" + index);
+        }
+
+        BloomFilter restored = BloomFilter.fromBytes(filter.toBytes());
+
+        assertThat(restored.toBytes()).isEqualTo(filter.toBytes());
+        for (int index = 0; index < 500; index++) {
+            assertThat(restored.mightContain("visitor-" + index)).isTrue();
+        }
+        assertThat(restored.put("visitor-0")).isFalse();
+    }
+}
@@ -0,0 +1,90 @@
+package com.jackblog.common.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    @Test
+    void rejectsPrecisionOutOfRange() {
+        assertThatThrownBy(() -> new HyperLogLog(3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HyperLogLog(17)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void emptySketchEstimatesZero() {
+        assertThat(new HyperLogLog(12).estimate()).isZero();
+    }
+
+    @Test
+    void smallCardinalityUsesLinearCounting() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        for (int index = 0; index < 10; index++) {
+            sketch.add("visitor-" + index);
+        }
+
+        assertThat(sketch.estimate()).isCloseTo(10L, within(1L));
+    }
+
+    @Test
+    void estimatesLargeCardinalityWithinErrorBound() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        for (int index = 0; index < 100_000; index++) {
+            sketch.add("visitor-" + index);
+        }
+
+        assertThat(sketch.estimate()).isCloseTo(100_000L, within(5_000L));
+    }
+
+    @Test
+    void duplicatesDoNotChangeEstimate() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        for (int index = 0; index < 1_000; index++) {
+            sketch.add("visitor-" + index);
+        }
+        long estimate = sketch.estimate();
+
+        for (int index = 0; index < 1_000; index++) {
+            assertThat(sketch.add("visitor-" + index)).isFalse();
+        }
+        assertThat(sketch.estimate()).isEqualTo(estimate);
+    }
+
+    @Test
+    void mergeEstimatesUnion() {
+        HyperLogLog left = new HyperLogLog(12);
+        HyperLogLog right = new HyperLogLog(12);
+        for (int index = 0; index < 50_000; index++) {
+            left.add("visitor-" + index);
+        }
+        for (int index = 25_000; index < 75_000; index++) {
+            right.add("visitor-" + index);
+        }
+
+        left.merge(right);
+
+        assertThat(left.estimate()).isCloseTo(75_000L, within(3_750L));
+    }
+
+    @Test
+    void mergeRejectsDifferentPrecision() {
+        assertThatThrownBy(() -> new HyperLogLog(12).merge(new HyperLogLog(10)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void bytesRoundTripKeepsRegisters() {
+        HyperLogLog sketch = new HyperLogLog(10);
+        for (int index = 0; index < 5_000; index++) {
+            sketch.add("visitor-" + index);
+        }
+
+        HyperLogLog restored = HyperLogLog.fromBytes(sketch.toBytes());
+
+        assertThat(restored.toBytes()).isEqualTo(sketch.toBytes());
+        assertThat(restored.estimate()).isEqualTo(sketch.estimate());
+    }
+}
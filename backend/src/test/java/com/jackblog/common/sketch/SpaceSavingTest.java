@@ -0,0 +1,82 @@
+package com.jackblog.common.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpaceSavingTest {
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThatThrownBy(() -> new SpaceSaving(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void countsExactlyWhileUnderCapacity() {
+        SpaceSaving sketch = new SpaceSaving(3);
+        sketch.offer("google", 3);
+        sketch.offer("direct", 1);
+        sketch.offer("google", 2);
+
+        assertThat(sketch.top(10)).containsExactly(
+            new SpaceSaving.Entry("google", 5, 0),
+            new SpaceSaving.Entry("direct", 1, 0)
+        );
+    }
+
+    @Test
+    void evictsSmallestCounterWhenFull() {
+        SpaceSaving sketch = new SpaceSaving(2);
+        sketch.offer("a", 5);
+        sketch.offer("b", 3);
+
+        sketch.offer("c", 1);
+
+        // c 가 b 를 밀어내고 b 의 count 3 을 error 로 물려받는다
+        assertThat(sketch.top(10)).containsExactly(
+            new SpaceSaving.Entry("a", 5, 0),
+            new SpaceSaving.Entry("c", 4, 3)
+        );
+    }
+
+    @Test
+    void keepsHeavyHitterWithBoundedOverestimate() {
+        SpaceSaving sketch = new SpaceSaving(10);
+        for (int index = 0; index < 1_000; index++) {
+            sketch.offer("hot", 1);
+            sketch.offer("cold-" + index, 1);
+        }
+
+        SpaceSaving.Entry top = sketch.top(1).get(0);
+        assertThat(top.item()).isEqualTo("hot");
+        assertThat(top.count()).isGreaterThanOrEqualTo(1_000);
+        assertThat(top.count() - top.error()).isLessThanOrEqualTo(1_000);
+    }
+
+    @Test
+    void topLimitsAndBreaksTiesByItem() {
+        SpaceSaving sketch = new SpaceSaving(5);
+        sketch.offer("b", 2);
+        sketch.offer("a", 2);
+        sketch.offer("c", 1);
+
+        assertThat(sketch.top(2)).extracting(SpaceSaving.Entry::item).containsExactly("a", "b");
+    }
+
+    @Test
+    void mergeAddsCountsFromOtherSketch() {
+        SpaceSaving left = new SpaceSaving(5);
+        SpaceSaving right = new SpaceSaving(5);
+        left.offer("google", 3);
+        right.offer("google", 2);
+        right.offer("naver", 4);
+
+        left.merge(right);
+
+        assertThat(left.top(10)).containsExactly(
+            new SpaceSaving.Entry("google", 5, 0),
+            new SpaceSaving.Entry("naver", 4, 0)
+        );
+    }
+}
@@ -0,0 +1,88 @@
+package com.jackblog.domain.post.search;
+
+import com.jackblog.domain.post.entity.Post;
+import com.jackblog.domain.post.repository.PostRepository;
+import com.jackblog.domain.post.repository.PostSearchHit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InMemoryPostSearchEngineTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final InMemoryPostSearchEngine engine = new InMemoryPostSearchEngine(postRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(postRepository.findByIsPublishedTrue()).thenReturn(List.of(
+            post(1L, "spring boot", "configuration"),
+            post(2L, "sprint planning", "backlog"),
+            post(3L, "spring sprint", "spread"),
+            post(4L, "unrelated", "nothing here")
+        ));
+        engine.rebuild();
+    }
+
+    // 접두어로 늘어난 여러 posting 목록을 병합할 때 같은 문서는 한 번만 나와야 한다
+    @Test
+    void prefixMergeReturnsEachDocOnce() {
+        Page<PostSearchHit> hits = search("spr", 10);
+
+        assertThat(hits.getTotalElements()).isEqualTo(3);
+        assertThat(hits.getContent()).extracting(PostSearchHit::getPostId)
+            .containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void requiresEveryToken() {
+        Page<PostSearchHit> hits = search("boot spr", 10);
+
+        assertThat(hits.getContent()).extracting(PostSearchHit::getPostId).containsExactly(1L);
+    }
+
+    @Test
+    void pagesKeepTotalOfAllMatches() {
+        Page<PostSearchHit> first = search("spr", 1);
+
+        assertThat(first.getContent()).hasSize(1);
+        assertThat(first.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void removedPostNoLongerMatches() {
+        engine.remove(3L);
+
+        assertThat(search("spr", 10).getContent()).extracting(PostSearchHit::getPostId)
+            .containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void noMatchReturnsEmptyPage() {
+        assertThat(search("kotlin", 10).getContent()).isEmpty();
+    }
+
+    private Page<PostSearchHit> search(String query, int size) {
+        return engine.search(query, PageRequest.of(0, size)).orElseThrow();
+    }
+
+    private static Post post(Long id, String title, String content) {
+        return Post.builder()
+            .id(id)
+            .slug("post-" + id)
+            .title(title)
+            .content(content)
+            .contentHtml(content)
+            .category("dev")
+            .categories(new ArrayList<>(List.of("dev")))
+            .isPublished(true)
+            .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.jackblog.domain.post.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostingListTest {
+
+    @Test
+    void keepsDocsSortedRegardlessOfInsertOrder() {
+        PostingList list = new PostingList();
+        list.put(7, 1);
+        list.put(2, 3);
+        list.put(5, 2);
+
+        assertThat(docs(list)).containsExactly(2, 5, 7);
+        assertThat(list.frequencyOf(2)).isEqualTo(3);
+        assertThat(list.frequencyOf(5)).isEqualTo(2);
+        assertThat(list.frequencyOf(7)).isEqualTo(1);
+    }
+
+    @Test
+    void putOnExistingDocReplacesFrequency() {
+        PostingList list = new PostingList();
+        list.put(3, 1);
+
+        list.put(3, 4);
+
+        assertThat(list.size()).isEqualTo(1);
+        assertThat(list.frequencyOf(3)).isEqualTo(4);
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        PostingList list = new PostingList();
+        for (int doc = 99; doc >= 0; doc--) {
+            list.put(doc, doc + 1);
+        }
+
+        assertThat(list.size()).isEqualTo(100);
+        for (int index = 0; index < 100; index++) {
+            assertThat(list.docAt(index)).isEqualTo(index);
+            assertThat(list.frequencyOf(index)).isEqualTo(index + 1);
+        }
+    }
+
+    @Test
+    void removeShiftsRemainingDocs() {
+        PostingList list = new PostingList();
+        list.put(1, 1);
+        list.put(2, 2);
+        list.put(3, 3);
+
+        list.remove(2);
+        list.remove(42);
+
+        assertThat(docs(list)).containsExactly(1, 3);
+        assertThat(list.frequencyOf(2)).isZero();
+        assertThat(list.frequencyOf(3)).isEqualTo(3);
+
+        list.remove(1);
+        list.remove(3);
+        assertThat(list.isEmpty()).isTrue();
+    }
+
+    private static int[] docs(PostingList list) {
+        int[] docs = new int[list.size()];
+        for (int index = 0; index < docs.length; index++) {
+            docs[index] = list.docAt(index);
+        }
+        return docs;
+    }
+}
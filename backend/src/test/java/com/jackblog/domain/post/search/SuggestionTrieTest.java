@@ -0,0 +1,102 @@
+package com.jackblog.domain.post.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestionTrieTest {
+
+    private final SuggestionTrie trie = new SuggestionTrie(10);
+
+    @Test
+    void completesByPrefixInWeightOrder() {
+        Suggestion spring = post("spring", 5);
+        Suggestion sprint = post("sprint", 9);
+        Suggestion spa = post("spa", 1);
+        trie.add("spring", spring);
+        trie.add("sprint", sprint);
+        trie.add("spa", spa);
+
+        assertThat(trie.complete("spr", 10)).containsExactly(sprint, spring);
+        assertThat(trie.complete("sp", 10)).containsExactly(sprint, spring, spa);
+        assertThat(trie.complete("sp", 2)).containsExactly(sprint, spring);
+    }
+
+    @Test
+    void completesPrefixEndingInsideAnEdge() {
+        Suggestion spring = post("spring", 1);
+        trie.add("spring", spring);
+
+        assertThat(trie.complete("spr", 10)).containsExactly(spring);
+        assertThat(trie.complete("spx", 10)).isEmpty();
+        assertThat(trie.complete("springs", 10)).isEmpty();
+        assertThat(trie.complete("boot", 10)).isEmpty();
+    }
+
+    @Test
+    void breaksWeightTiesByText() {
+        Suggestion beta = post("beta", 1);
+        Suggestion alpha = post("alpha", 1);
+        trie.add("beta", beta);
+        trie.add("alpha", alpha);
+
+        assertThat(trie.complete("", 10)).containsExactly(alpha, beta);
+    }
+
+    @Test
+    void keepsOnlyCapacityPerNode() {
+        SuggestionTrie small = new SuggestionTrie(2);
+        Suggestion low = post("java", 1);
+        Suggestion mid = post("jpa", 2);
+        Suggestion high = post("jvm", 3);
+        small.add("java", low);
+        small.add("jpa", mid);
+        small.add("jvm", high);
+
+        assertThat(small.complete("j", 10)).containsExactly(high, mid);
+    }
+
+    @Test
+    void listsSuggestionUnderSeveralKeysOnce() {
+        Suggestion post = post("Spring Boot", 1);
+        trie.add("spring", post);
+        trie.add("boot", post);
+
+        assertThat(trie.complete("", 10)).containsExactly(post);
+        assertThat(trie.complete("bo", 10)).containsExactly(post);
+    }
+
+    @Test
+    void removeMergesNodesAndKeepsSiblings() {
+        Suggestion spring = post("spring", 1);
+        Suggestion sprint = post("sprint", 2);
+        trie.add("spring", spring);
+        trie.add("sprint", sprint);
+
+        trie.remove("sprint", sprint);
+
+        assertThat(trie.complete("sprint", 10)).isEmpty();
+        assertThat(trie.complete("spr", 10)).containsExactly(spring);
+        assertThat(trie.complete("spring", 10)).containsExactly(spring);
+
+        trie.remove("spring", spring);
+        assertThat(trie.complete("", 10)).isEmpty();
+    }
+
+    @Test
+    void reweighReordersCompletions() {
+        Suggestion spring = post("spring", 1);
+        Suggestion sprint = post("sprint", 2);
+        trie.add("spring", spring);
+        trie.add("sprint", sprint);
+
+        spring.addWeight(5);
+        trie.reweigh("spring");
+
+        assertThat(trie.complete("spr", 10)).containsExactly(spring, sprint);
+    }
+
+    private static Suggestion post(String text, long weight) {
+        return new Suggestion(Suggestion.Type.POST, text, text.toLowerCase().replace(' ', '-'), weight);
+    }
+}
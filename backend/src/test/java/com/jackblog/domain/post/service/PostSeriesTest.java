@@ -0,0 +1,90 @@
+package com.jackblog.domain.post.service;
+
+import com.jackblog.domain.post.repository.PostHourlyStat;
+import org.junit.jupiter.api.Test;
+
+import static com.jackblog.domain.post.service.PostHourlyStats.LIKES;
+import static com.jackblog.domain.post.service.PostHourlyStats.VIEWS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostSeriesTest {
+
+    private final PostHourlyStats.PostSeries series = new PostHourlyStats.PostSeries(4);
+
+    @Test
+    void rangeReturnsRecordedHoursAndZeroForGaps() {
+        series.add(10, VIEWS, 5);
+        series.add(12, VIEWS, 2);
+        series.add(12, LIKES, 1);
+
+        assertThat(series.range(VIEWS, 9, 12)).containsExactly(0, 5, 0, 2);
+        assertThat(series.range(LIKES, 9, 12)).containsExactly(0, 0, 0, 1);
+    }
+
+    // 칸을 다시 쓰기 전에 비우지 않으면 4시간 전 값이 새 시간에 더해진다
+    @Test
+    void advanceClearsWrappedSlots() {
+        series.add(10, VIEWS, 5);
+
+        series.add(14, VIEWS, 1);
+
+        assertThat(series.range(VIEWS, 11, 14)).containsExactly(0, 0, 0, 1);
+    }
+
+    @Test
+    void jumpPastWholeWindowClearsEverything() {
+        for (long hour = 10; hour <= 13; hour++) {
+            series.add(hour, VIEWS, 1);
+        }
+
+        series.add(100, VIEWS, 1);
+
+        assertThat(series.range(VIEWS, 97, 100)).containsExactly(0, 0, 0, 1);
+    }
+
+    @Test
+    void rangeAdvancesToRequestedHour() {
+        series.add(10, VIEWS, 5);
+
+        assertThat(series.range(VIEWS, 12, 15)).containsExactly(0, 0, 0, 0);
+        assertThat(series.range(VIEWS, 8, 11)).containsExactly(0, 0, 0, 0);
+    }
+
+    @Test
+    void ignoresHoursOlderThanWindow() {
+        series.add(20, VIEWS, 1);
+
+        series.add(16, VIEWS, 7);
+        series.add(17, VIEWS, 3);
+
+        assertThat(series.range(VIEWS, 17, 20)).containsExactly(3, 0, 0, 1);
+    }
+
+    @Test
+    void drainDirtyReturnsChangedBucketsOnce() {
+        series.load(10, VIEWS, 4);
+        series.add(11, VIEWS, 1);
+        series.add(11, LIKES, 2);
+
+        assertThat(series.drainDirty(7L))
+            .singleElement()
+            .satisfies(stat -> {
+                assertThat(stat.getPostId()).isEqualTo(7L);
+                assertThat(stat.getHour()).isEqualTo(11L);
+                assertThat(stat.getViews()).isEqualTo(1L);
+                assertThat(stat.getLikes()).isEqualTo(2L);
+            });
+        assertThat(series.drainDirty(7L)).isEmpty();
+
+        series.markDirty(10);
+        assertThat(series.drainDirty(7L)).extracting(PostHourlyStat::getViews).containsExactly(4L);
+    }
+
+    @Test
+    void isIdleOnceLatestHourLeavesWindow() {
+        series.add(10, VIEWS, 1);
+
+        assertThat(series.isIdleBefore(10)).isFalse();
+        assertThat(series.isIdleBefore(11)).isTrue();
+    }
+}
@@ -0,0 +1,162 @@
+package com.jackblog.domain.post.service;
+
+import com.jackblog.domain.post.entity.Post;
+import com.jackblog.domain.post.event.PostChangedEvent;
+import com.jackblog.domain.post.repository.PostRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 목록 페이지의 쿼리 수가 글 수(페이지 크기)에 따라 늘지 않는지 Hibernate 통계로 확인한다
+@SpringBootTest
+@RecordApplicationEvents
+class PostServiceQueryCountTest {
+
+    private static final int POST_COUNT = 7;
+
+    @TempDir
+    static Path dataDir;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + dataDir.resolve("jackblog-test.db"));
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        registry.add("file.upload-dir", () -> dataDir.resolve("uploads").toString());
+        registry.add("visitor.archive.dir", () -> dataDir.resolve("visitor-archive").toString());
+    }
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        postRepository.deleteAll();
+        LocalDateTime publishedAt = LocalDateTime.now();
+        for (int index = 0; index < POST_COUNT; index++) {
+            postRepository.save(post(index, publishedAt.minusHours(index)));
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        applicationEvents.clear();
+    }
+
+    @Test
+    void publishedListQueriesDoNotGrowWithPageSize() {
+        long small = statementsFor(() -> postService.getPosts(0, 2, null));
+        long large = statementsFor(() -> postService.getPosts(0, 6, null));
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void categoryListQueriesDoNotGrowWithPageSize() {
+        long small = statementsFor(() -> postService.getPosts(0, 2, "dev"));
+        long large = statementsFor(() -> postService.getPosts(0, 6, "dev"));
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void adminListQueriesDoNotGrowWithPageSize() {
+        long small = statementsFor(() -> postService.getAllPosts(0, 2));
+        long large = statementsFor(() -> postService.getAllPosts(0, 6));
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void popularListQueriesDoNotGrowWithLimit() {
+        long small = statementsFor(() -> postService.getPopularPosts(2));
+        long large = statementsFor(() -> postService.getPopularPosts(6));
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void listsReadCountersFromPostRows() {
+        Post post = postRepository.findAll().get(0);
+        inTransaction(() -> {
+            postRepository.adjustCommentCount(post.getId(), 3);
+            postRepository.adjustLikeCount(post.getId(), 2);
+        });
+
+        assertThat(postService.getAllPosts(0, POST_COUNT).getContent())
+            .filteredOn(response -> response.getId().equals(post.getId()))
+            .singleElement()
+            .satisfies(response -> {
+                assertThat(response.getCommentCount()).isEqualTo(3L);
+                assertThat(response.getLikeCount()).isEqualTo(2L);
+            });
+    }
+
+    // 어긋난 글만 고치고, 고칠 글이 없으면 캐시를 비우는 이벤트를 보내지 않는다
+    @Test
+    void reconcileFixesOnlyDriftedCounters() {
+        Post post = postRepository.findAll().get(0);
+        inTransaction(() -> postRepository.adjustCommentCount(post.getId(), 5));
+
+        assertThat(postService.reconcileCounters()).isEqualTo(1);
+        assertThat(postRepository.findById(post.getId()).orElseThrow().getCommentCount()).isZero();
+        assertThat(applicationEvents.stream(PostChangedEvent.class)).hasSize(1);
+
+        applicationEvents.clear();
+        assertThat(postService.reconcileCounters()).isZero();
+        assertThat(applicationEvents.stream(PostChangedEvent.class)).isEmpty();
+    }
+
+    private long statementsFor(Runnable query) {
+        statistics.clear();
+        query.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void inTransaction(Runnable action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> action.run());
+    }
+
+    private static Post post(int index, LocalDateTime publishedAt) {
+        return Post.builder()
+            .slug("post-" + index)
+            .title("Post " + index)
+            .content("content " + index)
+            .contentHtml("<p>content " + index + "</p>")
+            .category("dev")
+            .categories(new ArrayList<>(List.of("dev")))
+            .isPublished(true)
+            .publishedAt(publishedAt)
+            .build();
+    }
+}
@@ -52,7 +52,7 @@ export default function Header() {
     const timer = setTimeout(async () => {
       setIsLoading(true);
       try {
-        const posts = await searchPosts(normalizedQuery);
+        const { content: posts } = await searchPosts(normalizedQuery);
         setResults(posts);
       } catch (error) {
         console.error("Header search failed:", error);
@@ -31,7 +31,7 @@ export default function SearchBar({ onClose, isModal = false }: SearchBarProps)
 
     setIsLoading(true);
     try {
-      const posts = await searchPosts(normalizedQuery);
+      const { content: posts } = await searchPosts(normalizedQuery);
       setResults(posts);
     } catch (err) {
       console.error("Search failed:", err);
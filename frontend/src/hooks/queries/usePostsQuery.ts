@@ -1,7 +1,13 @@
 "use client";
 
 import { useQuery } from "@tanstack/react-query";
-import { fetchPosts, fetchPost, fetchCategories, searchPosts } from "@/lib/api";
+import {
+  fetchPosts,
+  fetchPost,
+  fetchCategories,
+  fetchCategoryCounts,
+  searchPosts,
+} from "@/lib/api";
 
 export const postKeys = {
   all: ["posts"] as const,
@@ -11,6 +17,7 @@ export const postKeys = {
   details: () => [...postKeys.all, "detail"] as const,
   detail: (slug: string) => [...postKeys.details(), slug] as const,
   categories: () => [...postKeys.all, "categories"] as const,
+  categoryCounts: () => [...postKeys.categories(), "counts"] as const,
   search: (query: string) => [...postKeys.all, "search", query] as const,
 };
 
@@ -37,6 +44,14 @@ export function useCategoriesQuery() {
   });
 }
 
+export function useCategoryCountsQuery() {
+  return useQuery({
+    queryKey: postKeys.categoryCounts(),
+    queryFn: fetchCategoryCounts,
+    staleTime: 1000 * 60 * 10, // 10분
+  });
+}
+
 export function useSearchPostsQuery(query: string) {
   return useQuery({
     queryKey: postKeys.search(query),
@@ -7,7 +7,7 @@ import { VisitTrackRequest } from "@/types";
 export const visitorKeys = {
   all: ["visitors"] as const,
   summary: () => [...visitorKeys.all, "summary"] as const,
-  stats: () => [...visitorKeys.all, "stats"] as const,
+  stats: (days?: number) => [...visitorKeys.all, "stats", days ?? "all"] as const,
 };
 
 export function useVisitorSummaryQuery() {
@@ -18,10 +18,14 @@ export function useVisitorSummaryQuery() {
   });
 }
 
-export function useVisitorStatsQuery(token?: string | null, enabled = true) {
+export function useVisitorStatsQuery(
+  token?: string | null,
+  enabled = true,
+  days?: number
+) {
   return useQuery({
-    queryKey: visitorKeys.stats(),
-    queryFn: () => fetchVisitorStats(token!),
+    queryKey: visitorKeys.stats(days),
+    queryFn: () => fetchVisitorStats(token!, days),
     staleTime: 1000 * 30,
     enabled: enabled && !!token,
   });
@@ -34,7 +38,7 @@ export function useTrackVisitorMutation() {
     mutationFn: (payload: VisitTrackRequest) => trackVisitor(payload),
     onSuccess: () => {
       queryClient.invalidateQueries({ queryKey: visitorKeys.summary() });
-      queryClient.invalidateQueries({ queryKey: visitorKeys.stats() });
+      queryClient.invalidateQueries({ queryKey: [...visitorKeys.all, "stats"] });
     },
   });
 }
@@ -1,8 +1,11 @@
 import {
   ApiResponse,
   PageResponse,
+  CursorPageResponse,
   PostResponse,
+  PostSuggestion,
   PostDetailResponse,
+  PostHourlySeries,
   PostCreateRequest,
   PostUpdateRequest,
   CommentResponse,
@@ -14,8 +17,15 @@ import {
   VisitTrackRequest,
   VisitorStatsResponse,
   VisitorSummaryResponse,
+  VisitorArchiveResponse,
+  VisitorRouteStat,
+  VisitorTopDimension,
+  VisitorTopWindow,
+  LiveEvent,
   VisitTrackResponse,
   CategoryTreeResponse,
+  ResolvedCategoryTreeResponse,
+  CategoryCount,
 } from "@/types";
 
 const SERVER_API_BASE =
@@ -96,6 +106,36 @@ export async function fetchAllPosts(
   );
 }
 
+export async function fetchPostsCursor(
+  after?: string | null,
+  size = 10,
+  category?: string,
+  includeTotal = false
+): Promise<CursorPageResponse<PostResponse>> {
+  const params = new URLSearchParams({ size: size.toString() });
+  if (after) {
+    params.append("after", after);
+  }
+  if (category) {
+    params.append("category", category);
+  }
+  if (includeTotal) {
+    params.append("includeTotal", "true");
+  }
+  return fetchApi<CursorPageResponse<PostResponse>>(`/posts/cursor?${params}`);
+}
+
+export async function fetchAllPostsCursor(
+  after?: string | null,
+  size = 10
+): Promise<CursorPageResponse<PostResponse>> {
+  const params = new URLSearchParams({ size: size.toString() });
+  if (after) {
+    params.append("after", after);
+  }
+  return fetchApi<CursorPageResponse<PostResponse>>(`/posts/all/cursor?${params}`);
+}
+
 export async function fetchPost(slug: string): Promise<PostDetailResponse> {
   return fetchApi<PostDetailResponse>(`/posts/${slug}`);
 }
@@ -109,6 +149,16 @@ export async function fetchPostAdmin(
   });
 }
 
+export async function fetchPostHourlyStats(
+  slug: string,
+  token: string,
+  hours = 48
+): Promise<PostHourlySeries> {
+  return fetchApi<PostHourlySeries>(`/posts/${slug}/stats/hourly?hours=${hours}`, {
+    headers: getAuthHeaders(token),
+  });
+}
+
 export async function incrementViewCount(slug: string): Promise<void> {
   await fetchApi<void>(`/posts/${slug}/view`, {
     method: "POST",
@@ -145,16 +195,35 @@ export async function deletePost(slug: string, token: string): Promise<void> {
   });
 }
 
-export async function searchPosts(query: string): Promise<PostResponse[]> {
-  return fetchApi<PostResponse[]>(
-    `/posts/search?q=${encodeURIComponent(query)}`
-  );
+export async function searchPosts(
+  query: string,
+  page = 0,
+  size = 10
+): Promise<PageResponse<PostResponse>> {
+  const params = new URLSearchParams({
+    q: query,
+    page: page.toString(),
+    size: size.toString(),
+  });
+  return fetchApi<PageResponse<PostResponse>>(`/posts/search?${params}`);
+}
+
+export async function suggestPosts(
+  prefix: string,
+  limit = 8
+): Promise<PostSuggestion[]> {
+  const params = new URLSearchParams({ prefix, limit: limit.toString() });
+  return fetchApi<PostSuggestion[]>(`/posts/suggest?${params}`);
 }
 
 export async function fetchCategories(): Promise<string[]> {
   return fetchApi<string[]>("/posts/categories");
 }
 
+export async function fetchCategoryCounts(): Promise<CategoryCount[]> {
+  return fetchApi<CategoryCount[]>("/posts/categories/counts");
+}
+
 export async function fetchPopularPosts(limit = 5): Promise<PostResponse[]> {
   return fetchApi<PostResponse[]>(`/posts/popular?limit=${limit}`);
 }
@@ -171,9 +240,50 @@ export async function trackVisitor(
 }
 
 export async function fetchVisitorStats(
-  token: string
+  token: string,
+  days?: number
 ): Promise<VisitorStatsResponse> {
-  return fetchApi<VisitorStatsResponse>("/visitors/stats", {
+  const query = days ? `?days=${days}` : "";
+  return fetchApi<VisitorStatsResponse>(`/visitors/stats${query}`, {
+    headers: getAuthHeaders(token),
+  });
+}
+
+export async function fetchVisitorArchive(
+  token: string,
+  from: string,
+  to: string,
+  landingPath?: string,
+  limit = 1000
+): Promise<VisitorArchiveResponse> {
+  const params = new URLSearchParams({ from, to, limit: limit.toString() });
+  if (landingPath) {
+    params.append("landingPath", landingPath);
+  }
+  return fetchApi<VisitorArchiveResponse>(`/visitors/archive?${params}`, {
+    headers: getAuthHeaders(token),
+  });
+}
+
+export async function fetchVisitorTop(
+  token: string,
+  dimension: VisitorTopDimension,
+  window: VisitorTopWindow = "today",
+  limit = 10
+): Promise<VisitorRouteStat[]> {
+  const params = new URLSearchParams({ dimension, window, limit: limit.toString() });
+  return fetchApi<VisitorRouteStat[]>(`/visitors/top?${params}`, {
+    headers: getAuthHeaders(token),
+  });
+}
+
+export async function fetchVisitorTrending(
+  token: string,
+  dimension: VisitorTopDimension,
+  limit = 10
+): Promise<VisitorRouteStat[]> {
+  const params = new URLSearchParams({ dimension, limit: limit.toString() });
+  return fetchApi<VisitorRouteStat[]>(`/visitors/trending?${params}`, {
     headers: getAuthHeaders(token),
   });
 }
@@ -182,12 +292,61 @@ export async function fetchVisitorSummary(): Promise<VisitorSummaryResponse> {
   return fetchApi<VisitorSummaryResponse>("/visitors/summary");
 }
 
+// ============ Live Events API ============
+
+// EventSource 는 Authorization 헤더를 못 붙이므로 fetch 스트림을 직접 읽는다.
+// "dropped" 는 버퍼가 넘쳐 이벤트를 놓쳤다는 뜻이라 통계를 다시 불러오면 된다
+export async function subscribeLiveEvents(
+  token: string,
+  onEvent: (event: LiveEvent) => void,
+  onDropped: () => void,
+  signal: AbortSignal
+): Promise<void> {
+  const response = await fetch(`${API_BASE}/live/events`, {
+    headers: {
+      ...getAuthHeaders(token),
+      Accept: "text/event-stream",
+    },
+    signal,
+  });
+
+  if (!response.ok || !response.body) {
+    throw new ApiError(response.status, `HTTP error! status: ${response.status}`);
+  }
+
+  const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+  let buffer = "";
+  while (true) {
+    const { value, done } = await reader.read();
+    if (done) return;
+
+    buffer += value;
+    const frames = buffer.split("\n\n");
+    buffer = frames.pop() ?? "";
+
+    for (const frame of frames) {
+      let name = "message";
+      let data = "";
+      for (const line of frame.split("\n")) {
+        if (line.startsWith("event:")) name = line.slice(6).trim();
+        else if (line.startsWith("data:")) data += line.slice(5).trim();
+      }
+      if (name === "dropped") onDropped();
+      else if (data) onEvent(JSON.parse(data) as LiveEvent);
+    }
+  }
+}
+
 // ============ Category Tree API ============
 
 export async function fetchCategoryTree(): Promise<CategoryTreeResponse> {
   return fetchApi<CategoryTreeResponse>("/category-tree");
 }
 
+export async function fetchResolvedCategoryTree(): Promise<ResolvedCategoryTreeResponse> {
+  return fetchApi<ResolvedCategoryTreeResponse>("/category-tree/resolved");
+}
+
 export async function updateCategoryTree(
   data: CategoryTreeResponse,
   token: string
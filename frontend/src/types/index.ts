@@ -15,6 +15,14 @@ export interface PageResponse<T> {
   last: boolean;
 }
 
+export interface CursorPageResponse<T> {
+  content: T[];
+  size: number;
+  hasNext: boolean;
+  nextCursor: string | null;
+  totalElements?: number;
+}
+
 // Post Types
 export interface PostResponse {
   id: number;
@@ -32,6 +40,13 @@ export interface PostResponse {
   createdAt: string;
   updatedAt: string;
   publishedAt: string;
+  highlight?: string;
+}
+
+export interface PostHeading {
+  level: number;
+  text: string;
+  anchor: string | null;
 }
 
 export interface PostDetailResponse extends PostResponse {
@@ -39,6 +54,29 @@ export interface PostDetailResponse extends PostResponse {
   contentHtml: string;
   commentCount: number;
   likeCount: number;
+  tableOfContents?: PostHeading[] | null;
+}
+
+// views[i] 는 from + i 시간 구간의 값이고 마지막 값이 현재 시간이다. likes/reactions 는 순증가분
+export interface PostHourlySeries {
+  postId: number;
+  slug: string;
+  from: string;
+  hours: number;
+  views: number[];
+  likes: number[];
+  reactions: number[];
+}
+
+export interface CategoryCount {
+  name: string;
+  postCount: number;
+}
+
+export interface PostSuggestion {
+  type: "POST" | "CATEGORY";
+  text: string;
+  slug?: string;
 }
 
 export interface PostCreateRequest {
@@ -135,9 +173,47 @@ export interface VisitorStatsResponse {
   total: number;
   today: number;
   yesterday: number;
+  rangeDays?: number;
+  // label 은 yyyy-MM-dd
+  daily?: VisitorRouteStat[];
   topSources: VisitorRouteStat[];
   topReferrers: VisitorRouteStat[];
   topLandingPaths: VisitorRouteStat[];
+  todayLandingPathUniques?: VisitorRouteStat[];
+}
+
+export type VisitorTopWindow = "today" | "week" | "all";
+
+export type VisitorTopDimension = "source" | "referrer" | "landing_path";
+
+export type LiveEventType = "visits" | "views" | "likes" | "reactions" | "comments";
+
+export interface LiveEvent {
+  type: LiveEventType;
+  postId?: number;
+  slug?: string;
+  // 마지막 전송 이후 합쳐진 변화량
+  delta: number;
+  merged: number;
+  at: string;
+}
+
+export interface VisitorArchiveRow {
+  id: number;
+  clientId: string;
+  visitDate: string;
+  source: string | null;
+  referrerHost: string | null;
+  landingPath: string | null;
+  createdAt: string | null;
+}
+
+export interface VisitorArchiveResponse {
+  from: string;
+  to: string;
+  archivedDates: string[];
+  rows: VisitorArchiveRow[];
+  truncated: boolean;
 }
 
 export interface CategoryNode {
@@ -152,6 +228,17 @@ export interface CategoryTreeResponse {
   postCategoryOverrides: Record<string, string>;
 }
 
+export interface ResolvedCategoryNode extends CategoryNode {
+  // 하위 카테고리까지 포함한 공개 글 수
+  postCount: number;
+  // 이 카테고리에 직접 속한 글 slug
+  postSlugs: string[];
+}
+
+export interface ResolvedCategoryTreeResponse {
+  nodes: ResolvedCategoryNode[];
+}
+
 // Legacy PostData for backward compatibility
 export interface PostData {
   id: string;
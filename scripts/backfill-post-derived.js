@@ -0,0 +1,44 @@
+const API_URL = (process.env.API_URL || "http://localhost:8080/api").replace(/\/$/, "");
+const ADMIN_PASSWORD = process.env.ADMIN_PASSWORD;
+
+if (!ADMIN_PASSWORD) {
+  console.error("Missing ADMIN_PASSWORD environment variable.");
+  process.exit(1);
+}
+
+async function requestJson(url, options = {}) {
+  const response = await fetch(url, options);
+  const data = await response.json().catch(() => ({}));
+  if (!response.ok) {
+    throw new Error(data.message || `Request failed: ${response.status}`);
+  }
+  return data;
+}
+
+async function login() {
+  const data = await requestJson(`${API_URL}/admin/login`, {
+    method: "POST",
+    headers: { "Content-Type": "application/json" },
+    body: JSON.stringify({ password: ADMIN_PASSWORD }),
+  });
+
+  return data.data.token;
+}
+
+// Fills excerpt, thumbnail and markdown analysis columns for posts saved
+// before they were derived at write time. The backend also runs this on startup.
+async function backfill() {
+  const token = await login();
+  const data = await requestJson(`${API_URL}/posts/derived/backfill`, {
+    method: "POST",
+    headers: { Authorization: `Bearer ${token}` },
+  });
+
+  console.log("Backfill complete");
+  console.log(`updated: ${data.data.updatedPosts}`);
+}
+
+backfill().catch((error) => {
+  console.error("Backfill failed:", error.message);
+  process.exit(1);
+});